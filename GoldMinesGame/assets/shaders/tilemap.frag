@@ -0,0 +1,20 @@
+#ifdef GL_ES
+precision highp float;
+#endif
+
+varying vec4 v_color;
+varying vec2 v_texCoords;   // координата в тайлах карты
+
+uniform sampler2D u_texture;   // тайлсет: тайлы в один ряд
+uniform sampler2D u_tileIndex; // индекс тайла в красном канале, один тексель на тайл
+uniform vec2 u_mapSize;        // размер карты в тайлах
+uniform float u_tileCount;     // количество тайлов в тайлсете
+
+void main() {
+    vec2 tile = floor(v_texCoords);
+    vec2 local = clamp(v_texCoords - tile, 0.0, 0.999);
+    float id = floor(texture2D(u_tileIndex, (tile + 0.5) / u_mapSize).r * 255.0 + 0.5);
+    // Строки изображения тайла идут сверху вниз, а локальная Y - снизу вверх
+    vec2 uv = vec2((id + local.x) / u_tileCount, 1.0 - local.y);
+    gl_FragColor = v_color * texture2D(u_texture, uv);
+}
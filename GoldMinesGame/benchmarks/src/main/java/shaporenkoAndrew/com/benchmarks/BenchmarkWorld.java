@@ -0,0 +1,65 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import com.badlogic.gdx.utils.IntSet;
+import shaporenkoAndrew.com.assets.AssetRegistry;
+import shaporenkoAndrew.com.input.InputSource;
+import shaporenkoAndrew.com.world.GameWorld;
+
+/**
+ * Игровой мир для бенчмарков.
+ * Строит первый уровень по фиксированному зерну без окна и OpenGL,
+ * чтобы все бенчмарки измеряли одну и ту же карту.
+ * Ввод - набор удерживаемых клавиш, который бенчмарк задает сам.
+ */
+class BenchmarkWorld implements GameWorld.Listener, InputSource {
+    static final long SEED = 42L;
+    static final float STEP = 1f / GameWorld.TICK_RATE;
+    // Размер уровня как у окна 640x480, увеличенного вдвое (см. GameScreen)
+    static final int LEVEL_WIDTH = 640 * 2;
+    static final int LEVEL_HEIGHT = 480 * 2;
+
+    final AssetRegistry assets = new AssetRegistry();
+    final GameWorld world;
+    private final IntSet heldKeys = new IntSet();
+
+    BenchmarkWorld() {
+        world = new GameWorld(assets, this, LEVEL_WIDTH, LEVEL_HEIGHT, SEED, this);
+        world.finishLoading();
+    }
+
+    /**
+     * Удержание клавиши на все время бенчмарка.
+     * @param keycode Код клавиши
+     */
+    void hold(int keycode) {
+        heldKeys.add(keycode);
+    }
+
+    void dispose() {
+        world.dispose();
+        assets.dispose();
+    }
+
+    @Override
+    public boolean isKeyPressed(int keycode) {
+        return heldKeys.contains(keycode);
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int keycode) {
+        return false;
+    }
+
+    @Override
+    public void levelStarted(GameWorld world) {
+    }
+
+    @Override
+    public void gameOver(GameWorld world) {
+        throw new IllegalStateException("Player died during benchmark");
+    }
+
+    @Override
+    public void victory(GameWorld world) {
+    }
+}
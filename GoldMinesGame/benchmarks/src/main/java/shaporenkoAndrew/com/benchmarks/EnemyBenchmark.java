@@ -0,0 +1,119 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import org.openjdk.jmh.annotations.*;
+import shaporenkoAndrew.com.gameObjects.Enemy;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.world.FlowField;
+import shaporenkoAndrew.com.world.GameWorld;
+import shaporenkoAndrew.com.world.LineOfSight;
+import shaporenkoAndrew.com.world.RoomPathfinder;
+import shaporenkoAndrew.com.world.TileGrid;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обновление врага в режимах преследования и патрулирования,
+ * проверка прямой видимости, на которой основан canSeePlayer,
+ * и пересчет поля направлений при переходе игрока в другой тайл.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyBenchmark {
+    private BenchmarkWorld benchmarkWorld;
+    private Player player;
+    private Enemy chasingEnemy;
+    private Enemy patrollingEnemy;
+    private LineOfSight lineOfSight;
+    private FlowField flowField;
+    private RoomPathfinder pathfinder;
+    private int flowFieldStep;
+    private float fromX, fromY, toX, toY;
+
+    @Setup
+    public void setup() {
+        benchmarkWorld = new BenchmarkWorld();
+        GameWorld world = benchmarkWorld.world;
+        player = world.getPlayer();
+        TextureRegion region = new TextureRegion();
+
+        // Преследующий враг стоит в той же комнате, что и игрок
+        Rectangle bounds = player.getBounds();
+        float enemyX = bounds.x;
+        float enemyY = bounds.y;
+        for (float offset = 160; offset > 0; offset -= 16) {
+            if (world.isPositionSafe(bounds.x + offset, bounds.y, 32, 32)) {
+                enemyX = bounds.x + offset;
+                break;
+            }
+        }
+        pathfinder = world.getRoomPathfinder();
+        chasingEnemy = new Enemy();
+        chasingEnemy.init(enemyX, enemyY, region, player, world.getTileCollider(),
+                          world.getLineOfSight(), world.getFlowField(), pathfinder, world, 1);
+
+        // Патрулирующий враг следит за игроком вне радиуса обзора
+        Player farPlayer = new Player(-10000, -10000, region, world);
+        patrollingEnemy = new Enemy();
+        patrollingEnemy.init(bounds.x, bounds.y, region, farPlayer, world.getTileCollider(),
+                             world.getLineOfSight(), world.getFlowField(), pathfinder, world, 2);
+
+        // Луч длиной в радиус обзора через несколько комнат
+        lineOfSight = world.getLineOfSight();
+        fromX = bounds.x + bounds.width / 2;
+        fromY = bounds.y + bounds.height / 2;
+        toX = fromX + 240;
+        toY = fromY + 180;
+
+        // Поле строится от игрока, как в начале тика мира
+        flowField = world.getFlowField();
+        flowField.setTarget(fromX, fromY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkWorld.dispose();
+    }
+
+    @Benchmark
+    public float chase() {
+        // Враг атакует игрока: здоровье восстанавливается, чтобы игра не закончилась
+        player.heal(100);
+        chasingEnemy.beginTick();
+        chasingEnemy.update(BenchmarkWorld.STEP);
+        return chasingEnemy.getX();
+    }
+
+    @Benchmark
+    public float patrol() {
+        // Маршруты между комнатами выдаются и ищутся так же, как в шаге мира
+        pathfinder.deliver();
+        patrollingEnemy.beginTick();
+        patrollingEnemy.update(BenchmarkWorld.STEP);
+        pathfinder.dispatch();
+        return patrollingEnemy.getX();
+    }
+
+    @Benchmark
+    public boolean lineOfSightUncached() {
+        lineOfSight.beginTick();
+        return lineOfSight.canSee(fromX, fromY, toX, toY);
+    }
+
+    @Benchmark
+    public boolean lineOfSightCached() {
+        return lineOfSight.canSee(fromX, fromY, toX, toY);
+    }
+
+    @Benchmark
+    public boolean flowFieldRebuild() {
+        // Игрок шагает между двумя соседними тайлами: каждый вызов пересчитывает поле
+        flowFieldStep ^= 1;
+        return flowField.setTarget(fromX + flowFieldStep * TileGrid.TILE_SIZE, fromY);
+    }
+}
@@ -0,0 +1,57 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.openjdk.jmh.annotations.*;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.world.EnemyHorde;
+import shaporenkoAndrew.com.world.GameWorld;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Шаг орды врагов разного размера.
+ * Орды от PARALLEL_THRESHOLD врагов считаются в пуле fork/join на всех ядрах;
+ * цель - 10 000 врагов заметно быстрее 16 мс шага на восьми ядрах.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HordeBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private BenchmarkWorld benchmarkWorld;
+    private Player player;
+    private EnemyHorde horde;
+
+    @Setup
+    public void setup() {
+        benchmarkWorld = new BenchmarkWorld();
+        GameWorld world = benchmarkWorld.world;
+        player = world.getPlayer();
+        horde = new EnemyHorde(size, world.getTileCollider(), world.getLineOfSight(),
+                               world.getFlowField(), player);
+        world.getLevelGenerator().createHorde(horde, size, player);
+
+        // Поле строится от игрока, как в начале тика мира
+        Rectangle bounds = player.getBounds();
+        world.getFlowField().setTarget(bounds.x + bounds.width / 2, bounds.y + bounds.height / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        horde.dispose();
+        benchmarkWorld.dispose();
+    }
+
+    @Benchmark
+    public float step() {
+        // Орда атакует игрока: здоровье восстанавливается, чтобы игра не закончилась
+        player.heal(player.getMaxHealth());
+        horde.update(BenchmarkWorld.STEP);
+        return horde.getX(0);
+    }
+}
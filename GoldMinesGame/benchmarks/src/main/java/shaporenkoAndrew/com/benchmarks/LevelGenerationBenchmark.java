@@ -0,0 +1,29 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import shaporenkoAndrew.com.world.LevelGenerator;
+import shaporenkoAndrew.com.world.LevelManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Генерация уровня (этап данных) для каждого набора параметров LevelManager.
+ * Зерно фиксировано, поэтому каждый вызов строит одну и ту же карту.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelGenerationBenchmark {
+    // Должно совпадать с LevelManager.getPresetCount()
+    @Param({"0", "1", "2"})
+    public int preset;
+
+    @Benchmark
+    public LevelGenerator generate() {
+        return LevelManager.generateLevel(preset, BenchmarkWorld.LEVEL_WIDTH, BenchmarkWorld.LEVEL_HEIGHT,
+                                          BenchmarkWorld.SEED);
+    }
+}
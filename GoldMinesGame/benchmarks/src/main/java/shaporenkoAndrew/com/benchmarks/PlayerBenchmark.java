@@ -0,0 +1,57 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import com.badlogic.gdx.Input;
+import org.openjdk.jmh.annotations.*;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.systems.CollisionSystem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обновление игрока, упертого в стену, и проверка столкновений с объектами.
+ * Игрок удерживает движение по диагонали, поэтому к началу замера
+ * он прижат к стене и каждый шаг проходит через обработку столкновения.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private BenchmarkWorld benchmarkWorld;
+    private Player player;
+    private CollisionSystem collisionSystem;
+
+    @Setup
+    public void setup() {
+        benchmarkWorld = new BenchmarkWorld();
+        benchmarkWorld.hold(Input.Keys.D);
+        benchmarkWorld.hold(Input.Keys.W);
+        player = benchmarkWorld.world.getPlayer();
+        collisionSystem = benchmarkWorld.world.getEngine().getSystem(CollisionSystem.class);
+
+        // Доходим до стены
+        for (int i = 0; i < 600; i++) {
+            player.update(BenchmarkWorld.STEP);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkWorld.dispose();
+    }
+
+    @Benchmark
+    public float updateAgainstWall() {
+        player.beginTick();
+        player.update(BenchmarkWorld.STEP);
+        return player.getX();
+    }
+
+    @Benchmark
+    public int checkCollisions() {
+        collisionSystem.update(BenchmarkWorld.STEP);
+        return player.getCoins();
+    }
+}
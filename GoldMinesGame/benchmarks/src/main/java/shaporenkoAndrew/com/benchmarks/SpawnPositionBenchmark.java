@@ -0,0 +1,51 @@
+package shaporenkoAndrew.com.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.*;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.world.GameWorld;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск безопасной позиции для появления игрока.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnPositionBenchmark {
+    private BenchmarkWorld benchmarkWorld;
+    private GameWorld world;
+    private Rectangle room;
+    private final Vector2 position = new Vector2();
+    private float x, y;
+
+    @Setup
+    public void setup() {
+        benchmarkWorld = new BenchmarkWorld();
+        world = benchmarkWorld.world;
+        room = world.getLevelGenerator().getRandomRoom();
+        Player player = world.getPlayer();
+        x = player.getX();
+        y = player.getY();
+    }
+
+    @TearDown
+    public void tearDown() {
+        benchmarkWorld.dispose();
+    }
+
+    @Benchmark
+    public boolean isPositionSafe() {
+        return world.isPositionSafe(x, y, 32, 32);
+    }
+
+    @Benchmark
+    public Vector2 findSafePosition() {
+        return world.findSafePosition(room, position);
+    }
+}
@@ -3,6 +3,9 @@ package shaporenkoAndrew.com;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics.DisplayMode;
+import com.badlogic.gdx.Screen;
+import shaporenkoAndrew.com.assets.AssetRegistry;
+import shaporenkoAndrew.com.profiling.GameEvents;
 import shaporenkoAndrew.com.screens.MainMenuScreen;
 
 /**
@@ -11,10 +14,28 @@ import shaporenkoAndrew.com.screens.MainMenuScreen;
  * - Настройку размера окна
  * - Установку заголовка игры
  * - Инициализацию первого экрана (главное меню)
+ * - Владение общим реестром ресурсов
  */
 public class Main extends Game {
     private int screenWidth;
     private int screenHeight;
+    private AssetRegistry assets;
+    private final int hordeSize;
+
+    /**
+     * Создание обычной игры без орды.
+     */
+    public Main() {
+        this(0);
+    }
+
+    /**
+     * Создание игры в режиме орды.
+     * @param hordeSize Количество врагов орды на уровне (0 - обычная игра)
+     */
+    public Main(int hordeSize) {
+        this.hordeSize = hordeSize;
+    }
 
     /**
      * Метод инициализации игры, вызывается при запуске.
@@ -33,11 +54,30 @@ public class Main extends Game {
         // Устанавливаем оконный режим на весь экран
         Gdx.graphics.setWindowedMode(screenWidth, screenHeight-50);
         Gdx.graphics.setTitle("Gold Mines");
+
+        // Общий реестр спрайтов для всех экранов
+        assets = new AssetRegistry();
         
         // Устанавливаем экран главного меню
         this.setScreen(new MainMenuScreen(this));
     }
 
+    /**
+     * Смена экрана с записью события перехода (см. EventRecorder).
+     * @param screen Новый экран
+     */
+    @Override
+    public void setScreen(Screen screen) {
+        Screen previous = getScreen();
+        Object event = GameEvents.get().beginScreenTransition();
+        super.setScreen(screen);
+        GameEvents.get().endScreenTransition(event, screenName(previous), screenName(screen));
+    }
+
+    private static String screenName(Screen screen) {
+        return screen != null ? screen.getClass().getSimpleName() : "none";
+    }
+
     /**
      * Метод освобождения ресурсов.
      * Вызывается при закрытии игры для корректного освобождения памяти.
@@ -45,5 +85,24 @@ public class Main extends Game {
     @Override
     public void dispose() {
         super.dispose();
+        if (assets != null) {
+            assets.dispose();
+        }
+    }
+
+    /**
+     * Получение общего реестра ресурсов.
+     * @return Реестр спрайтов с подсчетом ссылок
+     */
+    public AssetRegistry getAssets() {
+        return assets;
+    }
+
+    /**
+     * Получение размера орды для новых игр.
+     * @return Количество врагов орды (0 - режим выключен)
+     */
+    public int getHordeSize() {
+        return hordeSize;
     }
 }
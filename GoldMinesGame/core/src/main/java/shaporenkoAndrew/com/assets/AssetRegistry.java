@@ -0,0 +1,149 @@
+package shaporenkoAndrew.com.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Центральный реестр спрайтов на основе AssetManager.
+ * Спрайты запрашиваются по ключу (имя файла без расширения):
+ * - Каждый файл загружается один раз
+ * - На каждый ключ ведется счетчик ссылок
+ * - Файл выгружается, когда освобождена последняя ссылка
+ * Спрайты из GameAtlas берутся регионами общего атласа,
+ * остальные загружаются отдельными текстурами.
+ * Обычно ссылки берутся не напрямую, а через AssetScope уровня или экрана.
+ * Без OpenGL (консольный прогон) файлы не загружаются, а вместо спрайтов
+ * выдаются пустые регионы: счетчики ссылок при этом ведутся как обычно.
+ */
+public class AssetRegistry implements Disposable {
+    private final AssetManager manager = new AssetManager();
+    private final ObjectIntMap<String> refCounts = new ObjectIntMap<>();
+    private final ObjectMap<String, TextureRegion> regions = new ObjectMap<>();
+    private final boolean graphicsAvailable = Gdx.gl != null;
+
+    // Атлас, упакованный в памяти, если собранного атласа нет
+    private TextureAtlas runtimeAtlas;
+    private int atlasRefs = 0;
+
+    /**
+     * Получение спрайта с увеличением счетчика ссылок.
+     * @param key Ключ спрайта
+     * @return Регион для отрисовки
+     */
+    public TextureRegion acquire(String key) {
+        int count = refCounts.getAndIncrement(key, 0, 1);
+        if (count == 0) {
+            regions.put(key, load(key));
+        }
+        return regions.get(key);
+    }
+
+    /**
+     * Освобождение ссылки на спрайт.
+     * Когда ссылок не остается, файл выгружается.
+     * @param key Ключ спрайта
+     */
+    public void release(String key) {
+        int count = refCounts.get(key, 0);
+        if (count <= 0) {
+            throw new GdxRuntimeException("Asset released more times than acquired: " + key);
+        }
+        if (count > 1) {
+            refCounts.put(key, count - 1);
+            return;
+        }
+
+        refCounts.remove(key, 0);
+        regions.remove(key);
+        unload(key);
+    }
+
+    /**
+     * Получение текущего числа ссылок на спрайт.
+     * @param key Ключ спрайта
+     * @return Количество ссылок
+     */
+    public int getRefCount(String key) {
+        return refCounts.get(key, 0);
+    }
+
+    private TextureRegion load(String key) {
+        if (!graphicsAvailable) {
+            return new TextureRegion();
+        }
+        if (GameAtlas.contains(key)) {
+            TextureRegion region = acquireAtlas().findRegion(key);
+            if (region == null) {
+                releaseAtlas();
+                throw new GdxRuntimeException("Sprite not found in atlas: " + key);
+            }
+            return region;
+        }
+
+        String fileName = key + ".png";
+        manager.load(fileName, Texture.class);
+        manager.finishLoadingAsset(fileName);
+        return new TextureRegion(manager.get(fileName, Texture.class));
+    }
+
+    private void unload(String key) {
+        if (!graphicsAvailable) {
+            return;
+        }
+        if (GameAtlas.contains(key)) {
+            releaseAtlas();
+        } else {
+            manager.unload(key + ".png");
+        }
+    }
+
+    private TextureAtlas acquireAtlas() {
+        atlasRefs++;
+        if (GameAtlas.isPacked()) {
+            // AssetManager сам считает ссылки на повторно загружаемый атлас
+            manager.load(GameAtlas.ATLAS_PATH, TextureAtlas.class);
+            manager.finishLoadingAsset(GameAtlas.ATLAS_PATH);
+            return manager.get(GameAtlas.ATLAS_PATH, TextureAtlas.class);
+        }
+        if (runtimeAtlas == null) {
+            runtimeAtlas = GameAtlas.packAtRuntime();
+        }
+        return runtimeAtlas;
+    }
+
+    private void releaseAtlas() {
+        atlasRefs--;
+        if (GameAtlas.isPacked()) {
+            manager.unload(GameAtlas.ATLAS_PATH);
+        } else if (atlasRefs == 0 && runtimeAtlas != null) {
+            runtimeAtlas.dispose();
+            runtimeAtlas = null;
+        }
+    }
+
+    /**
+     * Освобождение всех ресурсов независимо от счетчиков.
+     * Вызывается при закрытии игры.
+     */
+    @Override
+    public void dispose() {
+        if (refCounts.size > 0) {
+            Gdx.app.debug("AssetRegistry", "Disposing with " + refCounts.size + " sprites still referenced");
+        }
+        refCounts.clear();
+        regions.clear();
+        manager.dispose();
+        if (runtimeAtlas != null) {
+            runtimeAtlas.dispose();
+            runtimeAtlas = null;
+        }
+        atlasRefs = 0;
+    }
+}
@@ -0,0 +1,49 @@
+package shaporenkoAndrew.com.assets;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Набор спрайтов, взятых из AssetRegistry одним владельцем (уровнем или экраном).
+ * Каждый ключ берется из реестра один раз, сколько бы объектов его ни использовало.
+ * dispose() возвращает все ссылки сразу, поэтому выгрузка ресурсов уровня
+ * происходит в предсказуемый момент - при его разборе.
+ */
+public class AssetScope implements Disposable {
+    private final AssetRegistry registry;
+    private final ObjectMap<String, TextureRegion> borrowed = new ObjectMap<>();
+
+    /**
+     * Конструктор набора.
+     * @param registry Реестр, из которого берутся спрайты
+     */
+    public AssetScope(AssetRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Получение спрайта по ключу.
+     * @param key Ключ спрайта (см. GameAtlas)
+     * @return Регион для отрисовки
+     */
+    public TextureRegion region(String key) {
+        TextureRegion region = borrowed.get(key);
+        if (region == null) {
+            region = registry.acquire(key);
+            borrowed.put(key, region);
+        }
+        return region;
+    }
+
+    /**
+     * Возврат всех взятых спрайтов в реестр.
+     */
+    @Override
+    public void dispose() {
+        for (String key : borrowed.keys()) {
+            registry.release(key);
+        }
+        borrowed.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package shaporenkoAndrew.com.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * Описание общего атласа спрайтов игрового мира.
+ * Атлас собирается при сборке задачей Gradle ":core:packTextures"
+ * (см. core/build.gradle) в файл assets/atlas/game.atlas.
+ * Все объекты рисуются регионами одной текстуры, поэтому SpriteBatch
+ * не сбрасывается при переходе между типами объектов.
+ * Загружается и освобождается через AssetRegistry.
+ */
+public final class GameAtlas {
+    public static final String ATLAS_PATH = "atlas/game.atlas";
+
+    // Ключи спрайтов (имена файлов в assets без расширения)
+    public static final String ORE = "gold_yellow";
+    public static final String CHEST_CLOSED = "chest_golden_closed";
+    public static final String CHEST_OPEN = "chest_golden_open_empty";
+    public static final String PLAYER = "death_knight";
+    public static final String DOOR_CLOSED = "door_closed";
+    public static final String DOOR_OPEN = "door_open";
+    public static final String COIN = "coin";
+    public static final String BOX = "box";
+    public static final String BOX_STACKED = "box_stacked";
+    public static final String ENEMY = "npc_knight_yellow";
+    // Белый пиксель 1x1 для заливок (см. PrimitiveRenderer)
+    public static final String WHITE_PIXEL = "white_pixel";
+
+    /**
+     * Спрайты, входящие в атлас.
+     * Список должен совпадать с atlasSprites в core/build.gradle.
+     */
+    static final String[] SPRITES = {
+        ORE, CHEST_CLOSED, CHEST_OPEN, PLAYER, DOOR_CLOSED,
+        DOOR_OPEN, COIN, BOX, BOX_STACKED, ENEMY, WHITE_PIXEL
+    };
+
+    private GameAtlas() {
+    }
+
+    /**
+     * Проверка, входит ли спрайт в атлас.
+     * @param key Ключ спрайта
+     * @return true если спрайт упакован в атлас
+     */
+    static boolean contains(String key) {
+        for (String sprite : SPRITES) {
+            if (sprite.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверка, собран ли атлас задачей packTextures.
+     * @return true если файл атласа есть среди ресурсов
+     */
+    static boolean isPacked() {
+        return Gdx.files.internal(ATLAS_PATH).exists();
+    }
+
+    /**
+     * Упаковка атласа в памяти из исходных файлов.
+     * Используется, если собранного атласа нет (например, запуск из IDE
+     * без задачи packTextures).
+     * @return Атлас спрайтов игрового мира
+     */
+    static TextureAtlas packAtRuntime() {
+        Gdx.app.log("GameAtlas", ATLAS_PATH + " not found, packing sprites at runtime");
+        PixmapPacker packer = new PixmapPacker(512, 512, Pixmap.Format.RGBA8888, 2, false);
+        for (String sprite : SPRITES) {
+            Pixmap pixmap = new Pixmap(Gdx.files.internal(sprite + ".png"));
+            packer.pack(sprite, pixmap);
+            pixmap.dispose();
+        }
+        TextureAtlas atlas = packer.generateTextureAtlas(
+            Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        packer.dispose();
+        return atlas;
+    }
+}
@@ -0,0 +1,13 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Сущность с собственным поведением (враг).
+ * Хранит расписание обновления AiSystem: сколько шагов осталось
+ * до следующего update и сколько времени накопилось с прошлого.
+ */
+public class AiComponent implements Component {
+    public int countdown;
+    public float pendingDelta;
+}
@@ -0,0 +1,12 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Границы сущности для коллизий и пространственного индекса.
+ * Прямоугольник следует за PositionComponent: его двигает поведение сущности.
+ */
+public class BoundsComponent implements Component {
+    public final Rectangle rect = new Rectangle();
+}
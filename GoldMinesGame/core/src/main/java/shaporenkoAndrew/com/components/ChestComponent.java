@@ -0,0 +1,16 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Сундук с монетами и случайным бонусом.
+ * Открывается по нажатию E, если у игрока достаточно руды.
+ */
+public class ChestComponent implements Component {
+    public int coins;
+    public boolean opened;
+    public TextureRegion openRegion;
+    public final RandomXS128 random = new RandomXS128(); // бонус сундука, зерно из потока генератора уровня
+}
@@ -0,0 +1,11 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Предмет, который игрок подбирает касанием (монета).
+ */
+public class CollectibleComponent implements Component {
+    // Количество монет, которое получает игрок
+    public int value = 1;
+}
@@ -0,0 +1,15 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Дверь на следующий уровень.
+ * Открывается, когда собрано requiredCoins монет; открытая дверь
+ * переводит игрока на следующий уровень по нажатию E.
+ */
+public class DoorComponent implements Component {
+    public int requiredCoins;
+    public boolean open;
+    public TextureRegion openRegion;
+}
@@ -0,0 +1,21 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.ComponentMapper;
+
+/**
+ * Общие ComponentMapper для быстрого доступа к компонентам сущностей.
+ */
+public final class Mappers {
+    public static final ComponentMapper<PositionComponent> POSITION = ComponentMapper.getFor(PositionComponent.class);
+    public static final ComponentMapper<BoundsComponent> BOUNDS = ComponentMapper.getFor(BoundsComponent.class);
+    public static final ComponentMapper<SpriteComponent> SPRITE = ComponentMapper.getFor(SpriteComponent.class);
+    public static final ComponentMapper<CollectibleComponent> COLLECTIBLE = ComponentMapper.getFor(CollectibleComponent.class);
+    public static final ComponentMapper<MineableComponent> MINEABLE = ComponentMapper.getFor(MineableComponent.class);
+    public static final ComponentMapper<SolidComponent> SOLID = ComponentMapper.getFor(SolidComponent.class);
+    public static final ComponentMapper<AiComponent> AI = ComponentMapper.getFor(AiComponent.class);
+    public static final ComponentMapper<DoorComponent> DOOR = ComponentMapper.getFor(DoorComponent.class);
+    public static final ComponentMapper<ChestComponent> CHEST = ComponentMapper.getFor(ChestComponent.class);
+
+    private Mappers() {
+    }
+}
@@ -0,0 +1,11 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Залежь, которую игрок добывает, наведя на нее указатель (руда).
+ */
+public class MineableComponent implements Component {
+    // Ценность руды
+    public int value;
+}
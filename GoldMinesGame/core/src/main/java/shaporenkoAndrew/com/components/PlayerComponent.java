@@ -0,0 +1,9 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Сущность, которой управляет ввод игрока.
+ */
+public class PlayerComponent implements Component {
+}
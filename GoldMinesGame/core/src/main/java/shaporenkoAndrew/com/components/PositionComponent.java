@@ -0,0 +1,68 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Позиция сущности в мире.
+ * Кроме текущей позиции хранит позицию в начале шага симуляции
+ * и позицию отрисовки, сглаженную между шагами (см. RenderSystem).
+ * Сущность, которая обновляется не каждый шаг (дальний враг), сглаживается
+ * на весь свой интервал обновления, а не на один шаг.
+ */
+public class PositionComponent implements Component {
+    public float x, y;
+    // Позиция в начале шага и интерполированная позиция для отрисовки
+    public float tickStartX, tickStartY;
+    public float drawX, drawY;
+    // Длина интервала сглаживания в шагах и шагов, прошедших с его начала
+    public int tickSpan = 1;
+    public int tickAge;
+
+    /**
+     * Установка позиции без сглаживания: отрисовка сразу переходит в новую точку.
+     * @param x Позиция по X
+     * @param y Позиция по Y
+     */
+    public void set(float x, float y) {
+        this.x = this.tickStartX = this.drawX = x;
+        this.y = this.tickStartY = this.drawY = y;
+        this.tickSpan = 1;
+        this.tickAge = 0;
+    }
+
+    /**
+     * Запоминание позиции перед шагом симуляции.
+     */
+    public void beginTick() {
+        beginTick(1);
+    }
+
+    /**
+     * Запоминание позиции перед обновлением, за которым следует
+     * span - 1 пропущенных шагов.
+     * @param span Интервал обновления в шагах
+     */
+    public void beginTick(int span) {
+        tickStartX = x;
+        tickStartY = y;
+        tickSpan = span;
+        tickAge = 0;
+    }
+
+    /**
+     * Пропуск шага без обновления: сглаживание продолжается по интервалу.
+     */
+    public void skipTick() {
+        tickAge++;
+    }
+
+    /**
+     * Расчет позиции отрисовки между прошлым и текущим обновлением.
+     * @param alpha Доля времени после последнего шага (0..1)
+     */
+    public void interpolate(float alpha) {
+        float t = Math.min(1f, (tickAge + alpha) / tickSpan);
+        drawX = tickStartX + (x - tickStartX) * t;
+        drawY = tickStartY + (y - tickStartY) * t;
+    }
+}
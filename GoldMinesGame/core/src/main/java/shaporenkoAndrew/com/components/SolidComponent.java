@@ -0,0 +1,12 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+
+/**
+ * Препятствие: на нем нельзя разместить игрока.
+ * Если blocksMovement, игрок еще и не может пройти сквозь него (ящик);
+ * руду игрок может задеть, пока добывает ее.
+ */
+public class SolidComponent implements Component {
+    public boolean blocksMovement;
+}
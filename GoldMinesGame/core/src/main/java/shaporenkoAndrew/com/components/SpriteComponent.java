@@ -0,0 +1,15 @@
+package shaporenkoAndrew.com.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Спрайт сущности: регион общего атласа и размер отрисовки.
+ * Регион сущности не принадлежит: он взят из AssetRegistry.
+ */
+public class SpriteComponent implements Component {
+    public TextureRegion region;
+    public float width, height;
+    // Зеркальная отрисовка по горизонтали (персонаж смотрит влево)
+    public boolean flipX;
+}
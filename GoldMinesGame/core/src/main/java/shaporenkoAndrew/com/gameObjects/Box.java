@@ -1,6 +1,7 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import shaporenkoAndrew.com.components.SolidComponent;
 
 /**
  * Класс, представляющий коробку в игре.
@@ -8,18 +9,27 @@ import com.badlogic.gdx.graphics.Texture;
  * Используется как препятствие и элемент окружения.
  */
 public class Box extends GameObject {
-    private final boolean isStacked;
+    private boolean isStacked;
 
     /**
-     * Конструктор коробки.
+     * Конструктор коробки для пула.
+     */
+    public Box() {
+        super(32, 32);
+        SolidComponent solid = new SolidComponent();
+        solid.blocksMovement = true;
+        add(solid);
+    }
+
+    /**
+     * Размещение коробки.
      * @param x Позиция по X
      * @param y Позиция по Y
      * @param texture Текстура коробки
      * @param isStacked Флаг, указывающий является ли коробка составной (двойной)
      */
-    public Box(float x, float y, Texture texture, boolean isStacked) {
-        super(x, y, 32, 32, texture);
+    public void init(float x, float y, TextureRegion texture, boolean isStacked) {
+        init(x, y, texture);
         this.isStacked = isStacked;
     }
-
 }
@@ -1,25 +1,31 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import shaporenkoAndrew.com.components.CollectibleComponent;
 
 /**
  * Класс, представляющий монету в игре.
  * Собираемый предмет, который увеличивает счет игрока.
- * При подборе игроком исчезает и добавляет очки.
+ * При подборе игроком исчезает и добавляет очки (см. CollisionSystem).
  */
 public class Coin extends GameObject {
-    private int value;
-
     /**
-     * Конструктор монеты.
-     * Создает монету с заданными координатами и стандартным значением в 1 очко.
+     * Конструктор монеты для пула.
      * Монеты имеют уменьшенный размер (16x16) по сравнению с другими объектами.
+     */
+    public Coin() {
+        super(16, 16); // монеты меньше других объектов
+        add(new CollectibleComponent());
+    }
+
+    /**
+     * Размещение монеты со стандартным значением в 1 очко.
      * @param x Позиция по X
      * @param y Позиция по Y
      * @param texture Текстура монеты
      */
-    public Coin(float x, float y, Texture texture) {
-        super(x, y, 16, 16, texture); // монеты меньше других объектов
-        this.value = 1;
+    @Override
+    public void init(float x, float y, TextureRegion texture) {
+        super.init(x, y, texture);
     }
 }
@@ -1,19 +1,26 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.math.MathUtils;
-import shaporenkoAndrew.com.screens.GameScreen;
+import com.badlogic.gdx.math.RandomXS128;
+import shaporenkoAndrew.com.components.AiComponent;
+import shaporenkoAndrew.com.world.FlowField;
+import shaporenkoAndrew.com.world.GameWorld;
+import shaporenkoAndrew.com.world.LineOfSight;
+import shaporenkoAndrew.com.world.RoomGraph;
+import shaporenkoAndrew.com.world.RoomPathfinder;
+import shaporenkoAndrew.com.world.TileCollider;
+import shaporenkoAndrew.com.world.TileGrid;
 
 /**
  * Класс, представляющий врага в игре.
  * Реализует:
  * - Искусственный интеллект для преследования игрока
- * - Систему патрулирования территории
+ * - Патрулирование маршрутами между комнатами
+ * - Погоню за игроком до комнаты, где его видели последний раз
  * - Обработку столкновений с игроком
- * - Анимацию врага
+ * Обновляется системой AiSystem, спрайт рисует RenderSystem.
  */
 public class Enemy extends GameObject {
     // Константы поведения врага
@@ -25,52 +32,109 @@ public class Enemy extends GameObject {
     private static final float DAMAGE_AMOUNT = 20f;
     private static final float DAMAGE_COOLDOWN = 2.0f;
     private static final float ATTACK_RANGE = 50f;
+    private static final float WAYPOINT_RADIUS = 4f;
+    private static final float ROUTE_STUCK_TIME = 1f;
 
     // Основные компоненты
     private Player player;
-    private Vector2 velocity;
-    private Vector2 desiredDirection;
-    private Vector2 avoidanceForce;
-    private Array<GameObject> walls;
-    private GameScreen gameScreen;
-    
+    private final Vector2 velocity = new Vector2();
+    private final Vector2 desiredDirection = new Vector2();
+    private final Vector2 avoidanceForce = new Vector2();
+    private TileCollider tileCollider;
+    private LineOfSight lineOfSight;
+    private FlowField flowField;
+    private RoomPathfinder pathfinder;
+    private RoomGraph roomGraph;
+    private GameWorld world;
+    private final RandomXS128 random = new RandomXS128(); // собственный поток случайных чисел
+
     // Система патрулирования
     private float patrolTimer;
-    private Vector2 patrolDirection;
+    private final Vector2 patrolDirection = new Vector2();
     private boolean isChasing;
-    private float attackTimer = DAMAGE_COOLDOWN;
+    private float attackTimer;
+
+    // Маршрут по комнатам: точки - центры комнат и повороты коридоров между ними
+    private final RoomPathfinder.Request route = new RoomPathfinder.Request();
+    private final Vector2 waypoint = new Vector2();
+    private int routeStep;
+    private float routeDelay;
+    private boolean isPursuing;
 
     // Система предотвращения застревания
     private float stuckTimer;
-    private Vector2 lastPosition;
+    private final Vector2 lastPosition = new Vector2();
     private boolean isStuck;
     private boolean isFacingLeft;
 
     /**
-     * Конструктор врага.
-     * Инициализирует все необходимые компоненты для поведения врага.
+     * Конструктор врага для пула; перед использованием вызывается init.
+     */
+    public Enemy() {
+        super(32, 32);
+        add(new AiComponent());
+    }
+
+    /**
+     * Размещение врага на уровне.
+     * Сбрасывает все состояние поведения, поэтому враг из пула ведет себя
+     * так же, как только что созданный.
      * @param x Начальная позиция по X
      * @param y Начальная позиция по Y
      * @param texture Текстура врага
      * @param player Ссылка на игрока для преследования
-     * @param walls Массив стен для обработки коллизий
-     * @param gameScreen Ссылка на игровой экран
+     * @param tileCollider Сервис столкновений со стенами уровня
+     * @param lineOfSight Проверка прямой видимости уровня
+     * @param flowField Общее поле направлений к игроку
+     * @param pathfinder Поиск пути между комнатами уровня
+     * @param world Игровой мир
+     * @param seed Зерно генератора случайных чисел врага (из потока генератора уровня)
      */
-    public Enemy(float x, float y, Texture texture, Player player, Array<GameObject> walls, GameScreen gameScreen) {
-        super(x, y, 32, 32, texture);
+    public void init(float x, float y, TextureRegion texture, Player player, TileCollider tileCollider,
+                     LineOfSight lineOfSight, FlowField flowField,
+                     RoomPathfinder pathfinder, GameWorld world, long seed) {
+        init(x, y, texture);
         this.player = player;
-        this.walls = walls;
-        this.gameScreen = gameScreen;
-        this.velocity = new Vector2();
-        this.desiredDirection = new Vector2();
-        this.avoidanceForce = new Vector2();
-        this.lastPosition = new Vector2(x, y);
+        this.tileCollider = tileCollider;
+        this.lineOfSight = lineOfSight;
+        this.flowField = flowField;
+        this.pathfinder = pathfinder;
+        this.roomGraph = pathfinder.getGraph();
+        this.world = world;
+        this.random.setSeed(seed);
+        this.velocity.setZero();
+        this.desiredDirection.setZero();
+        this.avoidanceForce.setZero();
+        this.lastPosition.set(x, y);
         this.stuckTimer = 0;
         this.isStuck = false;
         this.isFacingLeft = false;
         this.patrolTimer = 0;
-        this.patrolDirection = new Vector2(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f)).nor();
+        this.patrolDirection.set(randomAxis(), randomAxis()).nor();
         this.isChasing = false;
+        this.attackTimer = DAMAGE_COOLDOWN;
+        this.routeStep = 0;
+        this.routeDelay = 0;
+        this.isPursuing = false;
+    }
+
+    /**
+     * Сброс врага при возврате в пул: незавершенный запрос пути отменяется,
+     * ссылки на слои уровня отпускаются.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        if (pathfinder != null) {
+            pathfinder.cancel(route);
+        }
+        player = null;
+        tileCollider = null;
+        lineOfSight = null;
+        flowField = null;
+        pathfinder = null;
+        roomGraph = null;
+        world = null;
     }
 
     /**
@@ -83,37 +147,61 @@ public class Enemy extends GameObject {
      */
     @Override
     public void update(float delta) {
-        float distanceToPlayer = Vector2.dst(x, y, player.getX(), player.getY());
-        isChasing = distanceToPlayer <= VISION_RADIUS && canSeePlayer();
+        float distanceToPlayer = Vector2.dst(position.x, position.y, player.getX(), player.getY());
+        // Видимость проверяется один раз за тик: радиус атаки меньше радиуса обзора
+        boolean seesPlayer = distanceToPlayer <= VISION_RADIUS && canSeePlayer();
+        boolean wasChasing = isChasing;
+        isChasing = seesPlayer;
 
         if (isChasing) {
+            if (!wasChasing) {
+                pathfinder.cancel(route);
+                isPursuing = false;
+            }
             updateChasing(delta);
         } else {
+            if (wasChasing) {
+                startPursuit();
+            }
             updatePatrol(delta);
         }
 
         attackTimer += delta;
 
-        if (distanceToPlayer <= ATTACK_RANGE && canSeePlayer()) {
+        if (distanceToPlayer <= ATTACK_RANGE && seesPlayer) {
             if (attackTimer >= DAMAGE_COOLDOWN) {
                 player.damage(DAMAGE_AMOUNT);
                 attackTimer = 0;
                 
                 if (player.getHealth() <= 0) {
-                    player.setDead(true);
-                    gameScreen.gameOver();
+                    world.gameOver();
                 }
             }
         }
+
+        // Спрайт отрисовывается зеркально, когда враг смотрит влево
+        sprite.flipX = isFacingLeft;
     }
 
     /**
      * Обновление режима преследования.
-     * Враг активно преследует игрока, избегая препятствия.
+     * Враг идет по общему полю направлений, огибая стены по кратчайшему пути.
+     * Если поле не знает пути (враг в тайле игрока или дальше радиуса поля),
+     * враг движется прямо к игроку, избегая препятствия.
      * @param delta Время с последнего обновления
      */
     private void updateChasing(float delta) {
-        if (Vector2.dst(x, y, lastPosition.x, lastPosition.y) < 1f) {
+        isFacingLeft = player.getX() < position.x;
+
+        if (flowField.getDirection(position.x + width / 2, position.y + height / 2, desiredDirection)) {
+            stuckTimer = 0;
+            isStuck = false;
+            lastPosition.set(position.x, position.y);
+            moveWithSliding(SPEED * delta);
+            return;
+        }
+
+        if (Vector2.dst(position.x, position.y, lastPosition.x, lastPosition.y) < 1f) {
             stuckTimer += delta;
             if (stuckTimer > 0.5f) {
                 isStuck = true;
@@ -123,23 +211,43 @@ public class Enemy extends GameObject {
             isStuck = false;
         }
         
-        lastPosition.set(x, y);
-        desiredDirection.set(player.getX() - x, player.getY() - y).nor();
-        isFacingLeft = player.getX() < x;
+        lastPosition.set(position.x, position.y);
+        desiredDirection.set(player.getX() - position.x, player.getY() - position.y).nor();
 
         moveWithCollisionAvoidance(delta, SPEED);
     }
 
+    /**
+     * Движение по найденному пути (полю направлений или маршруту по комнатам).
+     * Отталкивание от стен не нужно: путь их уже обходит,
+     * а при касании угла враг скользит вдоль стены, как игрок.
+     * @param distance Длина шага в пикселях
+     */
+    private void moveWithSliding(float distance) {
+        float newX = position.x + desiredDirection.x * distance;
+        float newY = position.y + desiredDirection.y * distance;
+
+        position.x = tileCollider.sweepX(bounds, newX);
+        bounds.setPosition(position.x, position.y);
+        position.y = tileCollider.sweepY(bounds, newY);
+        bounds.setPosition(position.x, position.y);
+    }
+
     /**
      * Обновление режима патрулирования.
-     * Враг случайным образом перемещается по территории.
+     * Враг идет по маршруту в случайную комнату или, пока маршрута нет,
+     * случайным образом перемещается по территории.
      * @param delta Время с последнего обновления
      */
     private void updatePatrol(float delta) {
+        if (followRoute(delta)) {
+            return;
+        }
+
         patrolTimer += delta;
         if (patrolTimer >= PATROL_TIME) {
             patrolTimer = 0;
-            patrolDirection.set(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f)).nor();
+            patrolDirection.set(randomAxis(), randomAxis()).nor();
         }
 
         desiredDirection.set(patrolDirection);
@@ -148,6 +256,123 @@ public class Enemy extends GameObject {
         moveWithCollisionAvoidance(delta, PATROL_SPEED);
     }
 
+    /**
+     * Начало погони после потери игрока из виду:
+     * маршрут до комнаты, в которой игрока видели последний раз.
+     */
+    private void startPursuit() {
+        Rectangle playerBounds = player.getBounds();
+        int from = roomGraph.findRoomAt(position.x + width / 2, position.y + height / 2);
+        int to = roomGraph.findRoomAt(playerBounds.x + playerBounds.width / 2,
+                                      playerBounds.y + playerBounds.height / 2);
+        if (from == RoomGraph.NO_ROOM || to == RoomGraph.NO_ROOM) {
+            return;
+        }
+        pathfinder.request(route, from, to);
+        routeStep = 0;
+        isPursuing = true;
+    }
+
+    /**
+     * Запрос маршрута патрулирования из текущей комнаты в случайную другую.
+     */
+    private void requestPatrolRoute() {
+        int roomCount = roomGraph.getRoomCount();
+        int from = roomGraph.findRoomAt(position.x + width / 2, position.y + height / 2);
+        if (roomCount < 2 || from == RoomGraph.NO_ROOM) {
+            return;
+        }
+        int to = random.nextInt(roomCount - 1);
+        if (to >= from) to++;
+        pathfinder.request(route, from, to);
+        routeStep = 0;
+    }
+
+    /**
+     * Движение по маршруту между комнатами.
+     * Пока ответ на запрос не пришел, враг бродит как раньше.
+     * Если враг долго не может сдвинуться к точке маршрута, маршрут
+     * сбрасывается и следующий запрашивается после паузы.
+     * @param delta Время с последнего обновления
+     * @return true если враг двигался по маршруту
+     */
+    private boolean followRoute(float delta) {
+        routeDelay -= delta;
+        if (route.getStatus() == RoomPathfinder.Request.IDLE && routeDelay <= 0) {
+            requestPatrolRoute();
+        }
+        if (route.getStatus() != RoomPathfinder.Request.READY) {
+            return false;
+        }
+
+        // Точки маршрута: центр комнаты, поворот коридора, центр следующей комнаты...
+        int rooms = pathfinder.getRouteLength(route);
+        if (routeStep >= rooms * 2 - 1) {
+            pathfinder.cancel(route);
+            isPursuing = false;
+            return false;
+        }
+        setWaypoint(routeStep);
+
+        float centerX = position.x + width / 2;
+        float centerY = position.y + height / 2;
+        desiredDirection.set(waypoint.x - centerX, waypoint.y - centerY);
+        float waypointDistance = desiredDirection.len();
+        if (waypointDistance <= WAYPOINT_RADIUS) {
+            routeStep++;
+            stuckTimer = 0;
+            return true;
+        }
+        desiredDirection.scl(1f / waypointDistance);
+        isFacingLeft = desiredDirection.x < 0;
+
+        if (Vector2.dst(position.x, position.y, lastPosition.x, lastPosition.y) < 1f) {
+            stuckTimer += delta;
+            if (stuckTimer > ROUTE_STUCK_TIME) {
+                stuckTimer = 0;
+                pathfinder.cancel(route);
+                isPursuing = false;
+                routeDelay = PATROL_TIME;
+                return false;
+            }
+        } else {
+            stuckTimer = 0;
+        }
+        lastPosition.set(position.x, position.y);
+
+        // Редкие обновления дальнего врага дают длинный шаг: не проскакиваем точку
+        float speed = isPursuing ? SPEED : PATROL_SPEED;
+        moveWithSliding(Math.min(speed * delta, waypointDistance));
+        return true;
+    }
+
+    /**
+     * Вычисление точки маршрута в мировых координатах (центр тайла).
+     * @param step Номер точки: четные - центры комнат, нечетные - повороты коридоров
+     */
+    private void setWaypoint(int step) {
+        int room = pathfinder.getRouteRoom(route, step / 2);
+        int tileX;
+        int tileY;
+        if (step % 2 == 0) {
+            tileX = roomGraph.getCenterX(room);
+            tileY = roomGraph.getCenterY(room);
+        } else {
+            int nextRoom = pathfinder.getRouteRoom(route, step / 2 + 1);
+            tileX = roomGraph.getBendX(room, nextRoom);
+            tileY = roomGraph.getBendY(room, nextRoom);
+        }
+        waypoint.set((tileX + 0.5f) * TileGrid.TILE_SIZE, (tileY + 0.5f) * TileGrid.TILE_SIZE);
+    }
+
+    /**
+     * Случайная составляющая направления в диапазоне [-1, 1).
+     * @return Случайное значение
+     */
+    private float randomAxis() {
+        return random.nextFloat() * 2f - 1f;
+    }
+
     /**
      * Движение с учетом препятствий.
      * Реализует систему избегания стен и других препятствий.
@@ -156,40 +381,24 @@ public class Enemy extends GameObject {
      */
     private void moveWithCollisionAvoidance(float delta, float speed) {
         avoidanceForce.setZero();
-        for (GameObject wall : walls) {
-            float distToWall = Vector2.dst(x, y, wall.getX() + wall.getBounds().width/2, 
-                                         wall.getY() + wall.getBounds().height/2);
-            if (distToWall < OBSTACLE_AVOIDANCE_RADIUS) {
-                Vector2 awayFromWall = new Vector2(x - (wall.getX() + wall.getBounds().width/2),
-                                                  y - (wall.getY() + wall.getBounds().height/2));
-                awayFromWall.nor().scl(1.0f - distToWall/OBSTACLE_AVOIDANCE_RADIUS);
-                avoidanceForce.add(awayFromWall);
-            }
-        }
+        tileCollider.addWallRepulsion(position.x, position.y, OBSTACLE_AVOIDANCE_RADIUS, avoidanceForce);
 
         if (isStuck) {
-            avoidanceForce.add(MathUtils.random(-1f, 1f), MathUtils.random(-1f, 1f));
+            avoidanceForce.add(randomAxis(), randomAxis());
         }
 
         velocity.set(desiredDirection).add(avoidanceForce).nor();
         
-        float newX = x + velocity.x * speed * delta;
-        float newY = y + velocity.y * speed * delta;
+        float newX = position.x + velocity.x * speed * delta;
+        float newY = position.y + velocity.y * speed * delta;
         
         bounds.setPosition(newX, newY);
-        boolean canMove = true;
-        
-        for (GameObject wall : walls) {
-            if (bounds.overlaps(wall.getBounds())) {
-                canMove = false;
-                break;
-            }
-        }
+        boolean canMove = !tileCollider.overlapsSolid(bounds);
         
         if (canMove) {
-            x = newX;
-            y = newY;
-            bounds.setPosition(x, y);
+            position.x = newX;
+            position.y = newY;
+            bounds.setPosition(position.x, position.y);
         } else {
             if (!isChasing) {
                 patrolDirection.scl(-1);
@@ -198,43 +407,16 @@ public class Enemy extends GameObject {
         }
     }
 
-    /**
-     * Отрисовка врага с учетом направления движения.
-     * @param batch SpriteBatch для отрисовки
-     */
-    @Override
-    public void render(SpriteBatch batch) {
-        batch.draw(texture,
-                  isFacingLeft ? x + width : x,
-                  y,
-                  isFacingLeft ? -width : width,
-                  height);
-    }
-
     /**
      * Проверка видимости игрока.
-     * Использует простой алгоритм ray casting для определения,
-     * нет ли препятствий между врагом и игроком.
+     * Луч от центра врага к центру игрока проходит по тайловой сетке
+     * до первой стены; результат общий для всех врагов в том же тайле.
      * @return true если игрок в поле зрения, false если есть препятствия
      */
     private boolean canSeePlayer() {
-        float rayStepX = (player.getX() - x) / 20;
-        float rayStepY = (player.getY() - y) / 20;
-        
-        float checkX = x;
-        float checkY = y;
-        
-        for (int i = 0; i < 20; i++) {
-            checkX += rayStepX;
-            checkY += rayStepY;
-            
-            for (GameObject wall : walls) {
-                if (wall.getBounds().contains(checkX, checkY)) {
-                    return false;
-                }
-            }
-        }
-        
-        return true;
+        Rectangle playerBounds = player.getBounds();
+        return lineOfSight.canSee(position.x + width / 2, position.y + height / 2,
+                                  playerBounds.x + playerBounds.width / 2,
+                                  playerBounds.y + playerBounds.height / 2);
     }
 } 
\ No newline at end of file
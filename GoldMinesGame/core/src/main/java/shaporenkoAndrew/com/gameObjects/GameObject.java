@@ -1,22 +1,62 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Pool;
+import shaporenkoAndrew.com.components.BoundsComponent;
+import shaporenkoAndrew.com.components.PositionComponent;
+import shaporenkoAndrew.com.components.SpriteComponent;
+import shaporenkoAndrew.com.world.ObjectStore;
+
+import java.util.Arrays;
 
 /**
  * Базовый абстрактный класс для всех игровых объектов.
- * Содержит основные свойства и методы, общие для всех объектов в игре:
- * - Позиция (x, y)
- * - Размеры (width, height)
- * - Текстура объекта
- * Используется как родительский класс для всех игровых сущностей
+ * Объект - сущность Ashley с общими компонентами:
+ * - Позиция (PositionComponent), в том числе сглаженная для отрисовки
+ * - Границы (BoundsComponent) для коллизий и пространственного индекса
+ * - Спрайт (SpriteComponent) - регион общего атласа
+ * Подклассы добавляют свои компоненты (монета, руда, сундук, дверь...),
+ * а обрабатывают их системы мира (см. пакет systems).
+ * Собственное поведение (update) есть только у игрока и врагов.
+ * Объекты уровня берутся из пулов (см. GameObjectPools): пул создает объект
+ * без позиции, init размещает его на уровне, а reset готовит к следующему уровню.
+ * Компоненты создаются один раз и переживают все повторные использования.
  */
-public abstract class GameObject {
-    protected float x, y;
-    protected float width, height;
-    protected Texture texture;
-    protected Rectangle bounds;
+public abstract class GameObject extends Entity implements Pool.Poolable {
+    protected final float width, height;
+    protected final PositionComponent position;
+    protected final SpriteComponent sprite;
+    protected final Rectangle bounds;
+
+    // Место объекта в ObjectStore уровня (-1 - объект не на уровне)
+    private int slot = -1;
+    // Места объекта в наборах по типам ObjectStore (-1 - объект не в наборе)
+    private final int[] typeSlots = new int[ObjectStore.TYPE_COUNT];
+
+    /**
+     * Конструктор объекта без позиции; перед использованием вызывается init.
+     * @param width Ширина объекта
+     * @param height Высота объекта
+     */
+    protected GameObject(float width, float height) {
+        this.width = width;
+        this.height = height;
+        Arrays.fill(typeSlots, -1);
+
+        position = new PositionComponent();
+        BoundsComponent boundsComponent = new BoundsComponent();
+        boundsComponent.rect.setSize(width, height);
+        bounds = boundsComponent.rect;
+        sprite = new SpriteComponent();
+        sprite.width = width;
+        sprite.height = height;
+
+        add(position);
+        add(boundsComponent);
+        add(sprite);
+    }
 
     /**
      * Конструктор базового игрового объекта.
@@ -24,42 +64,67 @@ public abstract class GameObject {
      * @param y Начальная позиция по Y
      * @param width Ширина объекта
      * @param height Высота объекта
-     * @param texture Текстура для отрисовки объекта
+     * @param texture Регион атласа для отрисовки объекта
      */
-    public GameObject(float x, float y, float width, float height, Texture texture) {
-        this.x = x;
-        this.y = y;
-        this.width = width;
-        this.height = height;
-        this.texture = texture;
-        this.bounds = new Rectangle(x, y, width, height);
+    public GameObject(float x, float y, float width, float height, TextureRegion texture) {
+        this(width, height);
+        init(x, y, texture);
     }
 
     /**
-     * Обновление состояния объекта.
-     * Вызывается каждый кадр для обновления позиции и других параметров.
-     * @param delta Время, прошедшее с последнего обновления
+     * Размещение объекта: позиция без сглаживания и спрайт.
+     * @param x Позиция по X
+     * @param y Позиция по Y
+     * @param texture Регион атласа для отрисовки объекта
      */
-    public void update(float delta) {
+    protected void init(float x, float y, TextureRegion texture) {
+        position.set(x, y);
         bounds.setPosition(x, y);
+        sprite.region = texture;
+        sprite.flipX = false;
+    }
+
+    /**
+     * Сброс объекта при возврате в пул.
+     * Спрайт отпускается, чтобы объект в пуле не держал регион прошлого уровня.
+     */
+    @Override
+    public void reset() {
+        sprite.region = null;
+    }
+
+    /**
+     * Запоминание позиции перед шагом симуляции.
+     * Вызывается системами мира перед update().
+     */
+    public void beginTick() {
+        position.beginTick();
     }
 
     /**
-     * Отрисовка объекта на экране.
-     * @param batch SpriteBatch для отрисовки текстур
+     * Запоминание позиции перед update(), за которым идут пропущенные шаги.
+     * @param span Интервал обновления в шагах
      */
-    public void render(SpriteBatch batch) {
-        batch.draw(texture, x, y, width, height);
+    public void beginTick(int span) {
+        position.beginTick(span);
+    }
+
+    /**
+     * Обновление поведения объекта.
+     * Вызывается системами мира для игрока и объектов с AiComponent.
+     * @param delta Длина шага симуляции
+     */
+    public void update(float delta) {
+        bounds.setPosition(position.x, position.y);
     }
 
     /**
      * Освобождение ресурсов объекта.
      * Вызывается при удалении объекта для очистки памяти.
+     * Спрайт объекту не принадлежит: он взят из AssetRegistry
+     * и возвращается туда вместе с AssetScope уровня.
      */
     public void dispose() {
-        if (texture != null) {
-            texture.dispose();
-        }
     }
 
     /**
@@ -70,15 +135,52 @@ public abstract class GameObject {
         return bounds;
     }
 
+    /**
+     * Место объекта в ObjectStore уровня.
+     * @return Индекс слота или -1, если объект не на уровне
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    /**
+     * Место объекта в наборе ObjectStore по типу.
+     * @param type Тип набора (ObjectStore.DOORS, ORES...)
+     * @return Индекс в наборе или -1, если объект не в наборе
+     */
+    public int getTypeSlot(int type) {
+        return typeSlots[type];
+    }
+
+    public void setTypeSlot(int type, int slot) {
+        typeSlots[type] = slot;
+    }
+
     /**
      * Получение текущей X-координаты объекта.
      * @return Позиция по X
      */
-    public float getX() { return x; }
+    public float getX() { return position.x; }
 
     /**
      * Получение текущей Y-координаты объекта.
      * @return Позиция по Y
      */
-    public float getY() { return y; }
+    public float getY() { return position.y; }
+
+    /**
+     * Получение X-координаты отрисовки.
+     * @return Интерполированная позиция по X
+     */
+    public float getDrawX() { return position.drawX; }
+
+    /**
+     * Получение Y-координаты отрисовки.
+     * @return Интерполированная позиция по Y
+     */
+    public float getDrawY() { return position.drawY; }
 }
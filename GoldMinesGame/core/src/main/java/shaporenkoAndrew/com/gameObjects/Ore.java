@@ -1,6 +1,8 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import shaporenkoAndrew.com.components.MineableComponent;
+import shaporenkoAndrew.com.components.SolidComponent;
 
 /**
  * Класс, представляющий рудные залежи в игре.
@@ -8,19 +10,27 @@ import com.badlogic.gdx.graphics.Texture;
  * При сборе дает больше очков, чем обычные монеты.
  */
 public class Ore extends GameObject {
-    private int value; // ценность руды
+    private final MineableComponent mineable = new MineableComponent();
 
     /**
-     * Конструктор рудного месторождения.
-     * Создает руду с заданными координатами и ценностью.
+     * Конструктор рудного месторождения для пула.
      * Руда имеет стандартный размер 32x32 пикселя.
+     */
+    public Ore() {
+        super(32, 32);
+        add(mineable);
+        add(new SolidComponent());
+    }
+
+    /**
+     * Размещение руды с заданной ценностью.
      * @param x Позиция по X
      * @param y Позиция по Y
      * @param texture Текстура руды
      * @param value Ценность руды (количество очков)
      */
-    public Ore(float x, float y, Texture texture, int value) {
-        super(x, y, 32, 32, texture);
-        this.value = value;
+    public void init(float x, float y, TextureRegion texture, int value) {
+        init(x, y, texture);
+        mineable.value = value;
     }
 }
@@ -1,14 +1,13 @@
 package shaporenkoAndrew.com.gameObjects;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
-import shaporenkoAndrew.com.screens.GameScreen;
-import com.badlogic.gdx.graphics.Pixmap;
+import shaporenkoAndrew.com.components.PlayerComponent;
+import shaporenkoAndrew.com.input.InputSource;
+import shaporenkoAndrew.com.world.GameWorld;
+import shaporenkoAndrew.com.world.TileCollider;
 
 /**
  * Класс, представляющий игрока в игре.
@@ -30,32 +29,35 @@ public class Player extends GameObject {
     private static final float STAMINA_REGEN_RATE = 15f;
     private static final float MINING_DISTANCE = 70f;
     private static final float MINING_TIME = 1.0f;
+    private static final float BASE_HEALTH = 100f;
+    private static final float BASE_STAMINA = 100f;
 
     // Основные характеристики
     private float currentSpeed;
     private int coins;
-    private Array<Ore> inventory;
+    // Добытая руда; сами залежи возвращаются в пул уровня
+    private int oreCount;
     private boolean isInventoryOpen;
     private float miningProgress;
-    private float maxHealth = 100f;
+    private float maxHealth;
     private float currentHealth;
-    private float maxStamina = 100f;
+    private float maxStamina;
     private float currentStamina;
     private boolean isStaminaRegenPaused;
-    private float speedMultiplier = 1.0f;
+    private float speedMultiplier;
 
     // Система добычи руды
-    private float miningTimer = 0;
-    private Ore targetOre = null;
+    private float miningTimer;
+    private Ore targetOre;
 
     // Система коллизий и движения
-    private Vector2 previousPosition;
-    private Vector2 currentPosition;
-    private boolean isDead = false;
-    private boolean isFacingLeft = false;
+    private final Vector2 previousPosition = new Vector2();
+    private final Vector2 currentPosition = new Vector2();
+    private boolean isDead;
+    private boolean isFacingLeft;
 
-    private GameScreen gameScreen;
-    private Array<GameObject> objectsToRemove = new Array<>();
+    private GameWorld world;
+    private InputSource input;
 
     /**
      * Конструктор игрока.
@@ -63,20 +65,42 @@ public class Player extends GameObject {
      * @param x Начальная позиция по X
      * @param y Начальная позиция по Y
      * @param texture Текстура игрока
-     * @param gameScreen Ссылка на игровой экран
+     * @param world Игровой мир, из которого берется ввод
      */
-    public Player(float x, float y, Texture texture, GameScreen gameScreen) {
+    public Player(float x, float y, TextureRegion texture, GameWorld world) {
         super(x, y, 32, 32, texture);
-        this.gameScreen = gameScreen;
+        this.world = world;
+        this.input = world.getInput();
+        restart(x, y);
+        add(new PlayerComponent());
+    }
+
+    /**
+     * Возврат к начальному состоянию в новой позиции.
+     * Мир переиспользует одного игрока на всех уровнях и сам переносит
+     * между уровнями здоровье, выносливость, руду и монеты.
+     * @param x Позиция по X
+     * @param y Позиция по Y
+     */
+    public void restart(float x, float y) {
+        init(x, y, sprite.region);
         this.currentSpeed = BASE_SPEED;
         this.coins = 0;
-        this.inventory = new Array<>();
+        this.oreCount = 0;
         this.isInventoryOpen = false;
         this.miningProgress = 0;
+        this.maxHealth = BASE_HEALTH;
         this.currentHealth = maxHealth;
+        this.maxStamina = BASE_STAMINA;
         this.currentStamina = maxStamina;
-        this.previousPosition = new Vector2(x, y);
-        this.currentPosition = new Vector2(x, y);
+        this.isStaminaRegenPaused = false;
+        this.speedMultiplier = 1.0f;
+        this.miningTimer = 0;
+        this.targetOre = null;
+        this.previousPosition.set(x, y);
+        this.currentPosition.set(x, y);
+        this.isDead = false;
+        this.isFacingLeft = false;
     }
 
     /**
@@ -92,25 +116,25 @@ public class Player extends GameObject {
     public void update(float delta) {
         if (isDead) return;
 
-        previousPosition.set(x, y);
+        previousPosition.set(position.x, position.y);
 
         // Обработка движения
         float moveX = 0;
         float moveY = 0;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.W)) moveY += 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.S)) moveY -= 1;
-        if (Gdx.input.isKeyPressed(Input.Keys.A)) {
+        if (input.isKeyPressed(Input.Keys.W)) moveY += 1;
+        if (input.isKeyPressed(Input.Keys.S)) moveY -= 1;
+        if (input.isKeyPressed(Input.Keys.A)) {
             moveX -= 1;
             isFacingLeft = false;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.D)) {
+        if (input.isKeyPressed(Input.Keys.D)) {
             moveX += 1;
             isFacingLeft = true;
         }
 
         // Обработка спринта и выносливости
-        boolean isSprinting = Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT) && currentStamina > 0;
+        boolean isSprinting = input.isKeyPressed(Input.Keys.SHIFT_LEFT) && currentStamina > 0;
         float currentBaseSpeed = BASE_SPEED * speedMultiplier;
         currentSpeed = isSprinting ? currentBaseSpeed * SPRINT_MULTIPLIER : currentBaseSpeed;
 
@@ -123,8 +147,8 @@ public class Player extends GameObject {
         if (targetOre != null) {
             miningTimer += delta;
             if (miningTimer >= MINING_TIME) {
-                inventory.add(targetOre);
-                gameScreen.removeObject(targetOre);
+                oreCount++;
+                world.removeObject(targetOre);
                 targetOre = null;
                 miningTimer = 0;
             }
@@ -146,187 +170,70 @@ public class Player extends GameObject {
         }
 
         // Применение движения с проверкой коллизий
-        float newX = x + moveX * currentSpeed * delta;
-        float newY = y + moveY * currentSpeed * delta;
-
-        // Проверка коллизий по X
-        x = newX;
-        bounds.setPosition(x, y);
-        boolean collisionX = false;
-        for (GameObject wall : gameScreen.getWallLayer()) {
-            if (bounds.overlaps(wall.getBounds())) {
-                collisionX = true;
-                break;
-            }
-        }
-        if (collisionX) {
-            x = previousPosition.x;
-            bounds.setPosition(x, y);
-        }
+        float newX = position.x + moveX * currentSpeed * delta;
+        float newY = position.y + moveY * currentSpeed * delta;
+
+        // Проверка коллизий по X: упираемся в ближайшую стену на пути
+        TileCollider tileCollider = world.getTileCollider();
+        position.x = tileCollider.sweepX(bounds, newX);
+        bounds.setPosition(position.x, position.y);
 
         // Проверка коллизий по Y
-        y = newY;
-        bounds.setPosition(x, y);
-        boolean collisionY = false;
-        for (GameObject wall : gameScreen.getWallLayer()) {
-            if (bounds.overlaps(wall.getBounds())) {
-                collisionY = true;
-                break;
-            }
-        }
-        if (collisionY) {
-            y = previousPosition.y;
-            bounds.setPosition(x, y);
-        }
+        position.y = tileCollider.sweepY(bounds, newY);
+        bounds.setPosition(position.x, position.y);
 
-        currentPosition.set(x, y);
-        bounds.setPosition(x, y);
+        currentPosition.set(position.x, position.y);
+        bounds.setPosition(position.x, position.y);
 
         // Проверка открытия инвентаря
-        if (Gdx.input.isKeyJustPressed(Input.Keys.TAB)) {
+        if (input.isKeyJustPressed(Input.Keys.TAB)) {
             isInventoryOpen = !isInventoryOpen;
         }
-    }
-
-    /**
-     * Отрисовка игрока и связанных элементов интерфейса.
-     * @param batch SpriteBatch для отрисовки
-     */
-    @Override
-    public void render(SpriteBatch batch) {
-        // Отрисовка игрока с учетом направления
-        if (isFacingLeft) {
-            batch.draw(texture, x + bounds.width, y, -bounds.width, bounds.height);
-        } else {
-            batch.draw(texture, x, y, bounds.width, bounds.height);
-        }
-
-        // Отрисовка прогресса добычи руды
-        if (targetOre != null) {
-            renderMiningProgress(batch);
-        }
-
-        if (isInventoryOpen) {
-            renderInventory(batch);
-        }
-    }
-
-    /**
-     * Отрисовка прогресса добычи руды.
-     * @param batch SpriteBatch для отрисовки
-     */
-    private void renderMiningProgress(SpriteBatch batch) {
-        float progress = getMiningProgress();
-        float barWidth = 32;
-        float barHeight = 4;
-        float barX = targetOre.getX();
-        float barY = targetOre.getY() + 36;
-
-        // Фон полоски прогресса
-        Pixmap bgPixmap = new Pixmap((int)barWidth, (int)barHeight, Pixmap.Format.RGBA8888);
-        bgPixmap.setColor(0, 0, 0, 0.5f);
-        bgPixmap.fillRectangle(0, 0, (int)barWidth, (int)barHeight);
-        Texture bgTexture = new Texture(bgPixmap);
-        batch.draw(bgTexture, barX, barY);
-        bgPixmap.dispose();
-        bgTexture.dispose();
-
-        // Заполненная часть полоски прогресса
-        Pixmap fgPixmap = new Pixmap((int)(barWidth * progress), (int)barHeight, Pixmap.Format.RGBA8888);
-        fgPixmap.setColor(1, 1, 0, 1);
-        fgPixmap.fillRectangle(0, 0, (int)(barWidth * progress), (int)barHeight);
-        Texture fgTexture = new Texture(fgPixmap);
-        batch.draw(fgTexture, barX, barY);
-        fgPixmap.dispose();
-        fgTexture.dispose();
-    }
-
-    /**
-     * Отрисовка инвентаря игрока.
-     * @param batch SpriteBatch для отрисовки
-     */
-    private void renderInventory(SpriteBatch batch) {
-        // TODO: Реализовать отрисовку инвентаря
-    }
-
-    /**
-     * Проверка коллизий с игровыми объектами.
-     * @param objects Массив объектов для проверки
-     */
-    public void checkCollisions(Array<GameObject> objects) {
-        objectsToRemove.clear();
-        Array<GameObject> tempObjects = new Array<>(objects);
-        for (GameObject obj : tempObjects) {
-            if (bounds.overlaps(obj.getBounds())) {
-                handleCollision(obj);
-            }
-        }
-        objects.removeAll(objectsToRemove, true);
-    }
 
-    /**
-     * Обработка коллизий с конкретным объектом.
-     * @param obj Объект, с которым произошла коллизия
-     */
-    public void handleCollision(GameObject obj) {
-        if (obj instanceof Coin) {
-            coins++;
-            objectsToRemove.add(obj);
-            gameScreen.coinCollected();
-        } else if (obj instanceof Chest && Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-            Chest chest = (Chest) obj;
-            if (!chest.isOpened()) {
-                chest.open(this);
-            }
-        } else if (obj instanceof SecretDoor && Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-            SecretDoor door = (SecretDoor) obj;
-            door.setGameScreen(gameScreen);
-            door.checkAndOpen(gameScreen.getCollectedCoins());
-            if (door.isOpen()) {
-                door.interact();
-            }
-        } else if (obj instanceof Wall || obj instanceof Box) {
-            resolveCollision(obj.getBounds());
-        }
+        // Спрайт отрисовывается зеркально по направлению движения
+        sprite.flipX = isFacingLeft;
     }
 
     /**
-     * Разрешение коллизий с препятствиями.
+     * Разрешение коллизий с препятствиями: игрок возвращается
+     * на позицию до шага по оси с меньшим перекрытием.
+     * Вызывается CollisionSystem.
      * @param otherBounds Границы объекта-препятствия
      */
-    private void resolveCollision(Rectangle otherBounds) {
+    public void resolveCollision(Rectangle otherBounds) {
         if (bounds.overlaps(otherBounds)) {
             float overlapX = 0;
             float overlapY = 0;
 
-            if (x < otherBounds.x) {
-                overlapX = (x + bounds.width) - otherBounds.x;
+            if (position.x < otherBounds.x) {
+                overlapX = (position.x + bounds.width) - otherBounds.x;
             } else {
-                overlapX = x - (otherBounds.x + otherBounds.width);
+                overlapX = position.x - (otherBounds.x + otherBounds.width);
             }
 
-            if (y < otherBounds.y) {
-                overlapY = (y + bounds.height) - otherBounds.y;
+            if (position.y < otherBounds.y) {
+                overlapY = (position.y + bounds.height) - otherBounds.y;
             } else {
-                overlapY = y - (otherBounds.y + otherBounds.height);
+                overlapY = position.y - (otherBounds.y + otherBounds.height);
             }
 
             if (Math.abs(overlapX) < Math.abs(overlapY)) {
-                x = previousPosition.x;
+                position.x = previousPosition.x;
             } else {
-                y = previousPosition.y;
+                position.y = previousPosition.y;
             }
 
-            bounds.setPosition(x, y);
-            currentPosition.set(x, y);
+            bounds.setPosition(position.x, position.y);
+            currentPosition.set(position.x, position.y);
         }
     }
 
     // Геттеры и сеттеры
     public int getCoins() { return coins; }
-    public Array<Ore> getInventory() { return inventory; }
+    public int getOreCount() { return oreCount; }
     public boolean isInventoryOpen() { return isInventoryOpen; }
     public float getMiningProgress() { return targetOre != null ? miningTimer / MINING_TIME : 0; }
+    public Ore getTargetOre() { return targetOre; }
     public float getHealth() { return currentHealth; }
     public float getMaxHealth() { return maxHealth; }
     public float getStamina() { return currentStamina; }
@@ -357,7 +264,7 @@ public class Player extends GameObject {
         this.currentStamina = Math.min(maxStamina, stamina);
     }
 
-    public void setInventory(Array<Ore> inventory) { this.inventory = inventory; }
+    public void setOreCount(int oreCount) { this.oreCount = oreCount; }
     public void setCoins(int coins) { this.coins = coins; }
     public void setDead(boolean dead) { isDead = dead; }
 
@@ -400,7 +307,7 @@ public class Player extends GameObject {
      * @return true если у игрока достаточно руды, false в противном случае
      */
     public boolean hasEnoughOre() {
-        return inventory.size >= 2;
+        return oreCount >= 2;
     }
 
     /**
@@ -408,9 +315,7 @@ public class Player extends GameObject {
      * @param amount Количество удаляемой руды
      */
     public void removeOre(int amount) {
-        for (int i = 0; i < amount && inventory.size > 0; i++) {
-            inventory.removeIndex(inventory.size - 1);
-        }
+        oreCount = Math.max(0, oreCount - amount);
     }
 
     /**
@@ -418,7 +323,7 @@ public class Player extends GameObject {
      * @param ore Руда для добычи
      */
     public void setTargetOre(Ore ore) {
-        float distance = Vector2.dst(x, y, ore.getX(), ore.getY());
+        float distance = Vector2.dst(position.x, position.y, ore.getX(), ore.getY());
         if (distance <= MINING_DISTANCE) {
             if (targetOre != ore) {
                 targetOre = ore;
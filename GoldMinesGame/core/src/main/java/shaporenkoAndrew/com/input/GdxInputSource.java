@@ -0,0 +1,45 @@
+package shaporenkoAndrew.com.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.IntSet;
+
+/**
+ * Ввод с клавиатуры окна игры через Gdx.input.
+ * Нажатия клавиш запоминаются раз в кадр и живут до конца первого шага мира,
+ * поэтому нажатие не теряется в кадре без шагов и не срабатывает дважды
+ * в кадре с несколькими шагами.
+ */
+public class GdxInputSource implements InputSource {
+    private final IntSet justPressed = new IntSet();
+
+    /**
+     * Запоминание клавиш, нажатых в текущем кадре.
+     * Вызывается один раз за кадр до шагов мира.
+     */
+    public void pollFrame() {
+        if (!Gdx.input.isKeyJustPressed(Input.Keys.ANY_KEY)) return;
+        for (int keycode = 0; keycode <= Input.Keys.MAX_KEYCODE; keycode++) {
+            if (Gdx.input.isKeyJustPressed(keycode)) {
+                justPressed.add(keycode);
+            }
+        }
+    }
+
+    /**
+     * Сброс запомненных нажатий после шага мира, который их прочитал.
+     */
+    public void endStep() {
+        justPressed.clear();
+    }
+
+    @Override
+    public boolean isKeyPressed(int keycode) {
+        return Gdx.input.isKeyPressed(keycode);
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int keycode) {
+        return justPressed.contains(keycode);
+    }
+}
@@ -0,0 +1,24 @@
+package shaporenkoAndrew.com.input;
+
+/**
+ * Источник ввода для игровой логики.
+ * Объекты мира опрашивают клавиши через этот интерфейс, а не через Gdx.input,
+ * поэтому игру можно вести как с клавиатуры, так и скриптом без окна.
+ * Коды клавиш - константы Input.Keys.
+ */
+public interface InputSource {
+    /**
+     * Проверка, удерживается ли клавиша.
+     * @param keycode Код клавиши
+     * @return true если клавиша нажата
+     */
+    boolean isKeyPressed(int keycode);
+
+    /**
+     * Проверка, была ли клавиша нажата перед текущим шагом мира.
+     * Каждое нажатие видно ровно одному шагу.
+     * @param keycode Код клавиши
+     * @return true если клавиша нажата только что
+     */
+    boolean isKeyJustPressed(int keycode);
+}
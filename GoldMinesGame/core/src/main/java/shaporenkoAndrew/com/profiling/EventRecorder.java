@@ -0,0 +1,77 @@
+package shaporenkoAndrew.com.profiling;
+
+/**
+ * Запись событий игры во внешний профилировщик (например, Java Flight Recorder),
+ * чтобы подвисания можно было сопоставить с работой конкретной подсистемы.
+ * Длительные события записываются парой begin/end: begin возвращает маркер
+ * события или null, если событие сейчас не записывается, а end с маркером null
+ * ничего не делает. Методы могут вызываться из потока генерации уровней.
+ * Реализация подключается через GameEvents; по умолчанию ничего не записывается.
+ */
+public interface EventRecorder {
+    /**
+     * Начало этапа генерации или сборки уровня.
+     * @return Маркер события или null
+     */
+    Object beginLevelPhase();
+
+    /**
+     * Конец этапа генерации или сборки уровня.
+     * @param event Маркер из beginLevelPhase
+     * @param phase Название этапа
+     * @param width Ширина уровня в тайлах
+     * @param height Высота уровня в тайлах
+     * @param seed Зерно уровня
+     * @param count Количество созданного на этапе (комнат, коридоров, объектов)
+     */
+    void endLevelPhase(Object event, String phase, int width, int height, long seed, int count);
+
+    /**
+     * Начало перехода на уровень: от запроса до готовности уровня к игре.
+     * @return Маркер события или null
+     */
+    Object beginLevelTransition();
+
+    /**
+     * Конец перехода на уровень.
+     * @param event Маркер из beginLevelTransition
+     * @param fromLevel Номер прошлого уровня (0 при запуске игры)
+     * @param toLevel Номер нового уровня
+     */
+    void endLevelTransition(Object event, int fromLevel, int toLevel);
+
+    /**
+     * Начало смены экрана.
+     * @return Маркер события или null
+     */
+    Object beginScreenTransition();
+
+    /**
+     * Конец смены экрана.
+     * @param event Маркер из beginScreenTransition
+     * @param fromScreen Название прошлого экрана
+     * @param toScreen Название нового экрана
+     */
+    void endScreenTransition(Object event, String fromScreen, String toScreen);
+
+    /**
+     * Проверка, записываются ли сейчас кадры.
+     * Пока кадры записываются, профилировщик фаз кадра должен быть включен.
+     * @return true если события кадров записываются
+     */
+    boolean isRecordingFrames();
+
+    /**
+     * Начало кадра.
+     * @return Маркер события или null
+     */
+    Object beginFrame();
+
+    /**
+     * Конец кадра.
+     * @param event Маркер из beginFrame
+     * @param profiler Профилировщик с временем фаз текущего кадра
+     * @param steps Количество шагов симуляции за кадр
+     */
+    void endFrame(Object event, FrameProfiler profiler, int steps);
+}
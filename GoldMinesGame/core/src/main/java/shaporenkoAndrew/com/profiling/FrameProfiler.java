@@ -0,0 +1,131 @@
+package shaporenkoAndrew.com.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Замер времени фаз кадра.
+ * Время каждой фазы суммируется за кадр (симуляция может сделать несколько
+ * шагов за кадр) и хранится в кольцевом буфере последних кадров,
+ * по которому считаются перцентили.
+ * Пока профилировщик выключен, begin/end/endFrame сводятся к одной проверке
+ * флага, поэтому вызовы остаются в обычной сборке игры.
+ */
+public class FrameProfiler {
+    // Фазы кадра
+    public static final int INPUT = 0;
+    public static final int PLAYER_UPDATE = 1;
+    public static final int OBJECTS_UPDATE = 2;
+    public static final int COLLISION = 3;
+    public static final int WORLD_RENDER = 4;
+    public static final int UI_RENDER = 5;
+    public static final int PHASE_COUNT = 6;
+
+    private static final String[] PHASE_NAMES = {
+        "Input", "Player update", "Objects update", "Collision", "World render", "UI render"
+    };
+
+    // Окно перцентилей: 4 секунды при 60 кадрах в секунду
+    private static final int WINDOW = 240;
+
+    private boolean enabled = false;
+    private final long[] phaseStart = new long[PHASE_COUNT];
+    private final long[] frameTotals = new long[PHASE_COUNT];
+    private final long[][] history = new long[PHASE_COUNT][WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private int nextFrame = 0;
+    private int frameCount = 0;
+
+    /**
+     * Включение или выключение замеров.
+     * При включении накопленная история сбрасывается.
+     * @param enabled true чтобы замерять фазы
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            Arrays.fill(frameTotals, 0);
+            nextFrame = 0;
+            frameCount = 0;
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Начало фазы.
+     * @param phase Фаза (константа этого класса)
+     */
+    public void begin(int phase) {
+        if (!enabled) return;
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    /**
+     * Конец фазы: время с begin прибавляется к времени фазы в текущем кадре.
+     * @param phase Фаза (константа этого класса)
+     */
+    public void end(int phase) {
+        if (!enabled) return;
+        frameTotals[phase] += System.nanoTime() - phaseStart[phase];
+    }
+
+    /**
+     * Конец кадра: время фаз переносится в историю.
+     */
+    public void endFrame() {
+        if (!enabled) return;
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            history[phase][nextFrame] = frameTotals[phase];
+            frameTotals[phase] = 0;
+        }
+        nextFrame = (nextFrame + 1) % WINDOW;
+        frameCount = Math.min(frameCount + 1, WINDOW);
+    }
+
+    /**
+     * Перцентили времени фазы по последним кадрам (метод ближайшего ранга).
+     * @param phase Фаза (константа этого класса)
+     * @param percentiles Доли от 0 до 1, например 0.5f, 0.95f, 0.99f
+     * @param outMillis Массив для результатов в миллисекундах, по одному на долю
+     */
+    public void getPercentiles(int phase, float[] percentiles, float[] outMillis) {
+        if (frameCount == 0) {
+            Arrays.fill(outMillis, 0);
+            return;
+        }
+        System.arraycopy(history[phase], 0, sorted, 0, frameCount);
+        Arrays.sort(sorted, 0, frameCount);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int)Math.ceil(percentiles[i] * frameCount) - 1;
+            outMillis[i] = sorted[Math.max(0, Math.min(frameCount - 1, rank))] / 1e6f;
+        }
+    }
+
+    /**
+     * Время фазы в текущем кадре (до вызова endFrame).
+     * @param phase Фаза (константа этого класса)
+     * @return Время в наносекундах
+     */
+    public long getFrameNanos(int phase) {
+        return frameTotals[phase];
+    }
+
+    /**
+     * Количество кадров в окне перцентилей.
+     * @return Количество кадров
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Название фазы для отображения.
+     * @param phase Фаза (константа этого класса)
+     * @return Название фазы
+     */
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+}
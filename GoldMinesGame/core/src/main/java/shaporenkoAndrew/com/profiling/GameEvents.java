@@ -0,0 +1,73 @@
+package shaporenkoAndrew.com.profiling;
+
+/**
+ * Точка доступа к записи событий игры.
+ * Запуск на конкретной платформе может подключить свою реализацию
+ * (см. Lwjgl3Launcher); иначе используется пустая, и вызовы ничего не стоят.
+ */
+public final class GameEvents {
+    private static final EventRecorder NONE = new EventRecorder() {
+        @Override
+        public Object beginLevelPhase() {
+            return null;
+        }
+
+        @Override
+        public void endLevelPhase(Object event, String phase, int width, int height, long seed, int count) {
+        }
+
+        @Override
+        public Object beginLevelTransition() {
+            return null;
+        }
+
+        @Override
+        public void endLevelTransition(Object event, int fromLevel, int toLevel) {
+        }
+
+        @Override
+        public Object beginScreenTransition() {
+            return null;
+        }
+
+        @Override
+        public void endScreenTransition(Object event, String fromScreen, String toScreen) {
+        }
+
+        @Override
+        public boolean isRecordingFrames() {
+            return false;
+        }
+
+        @Override
+        public Object beginFrame() {
+            return null;
+        }
+
+        @Override
+        public void endFrame(Object event, FrameProfiler profiler, int steps) {
+        }
+    };
+
+    // Читается и из потока генерации уровней
+    private static volatile EventRecorder recorder = NONE;
+
+    private GameEvents() {
+    }
+
+    /**
+     * Подключение реализации записи событий.
+     * @param eventRecorder Реализация или null, чтобы отключить запись
+     */
+    public static void setRecorder(EventRecorder eventRecorder) {
+        recorder = eventRecorder != null ? eventRecorder : NONE;
+    }
+
+    /**
+     * Получение текущей реализации записи событий.
+     * @return Реализация (не null)
+     */
+    public static EventRecorder get() {
+        return recorder;
+    }
+}
@@ -0,0 +1,179 @@
+package shaporenkoAndrew.com.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+import shaporenkoAndrew.com.systems.AiSystem;
+import shaporenkoAndrew.com.world.GameWorld;
+import shaporenkoAndrew.com.world.ObjectStore;
+
+/**
+ * Оверлей производительности поверх игрового экрана.
+ * Показывает:
+ * - Перцентили p50/p95/p99 времени фаз кадра (см. FrameProfiler)
+ * - Вызовы отрисовки, привязки текстур и смены шейдеров (GLProfiler)
+ * - Отсечение тайлов и объектов по камере (RenderStats)
+ * - Количество объектов уровня по типам
+ * Пока оверлей скрыт, GLProfiler выключен; FrameProfiler включает GameScreen,
+ * когда оверлей виден или записываются события кадров.
+ * Текст пересобирается раз в полсекунды, чтобы цифры можно было прочитать.
+ */
+public class PerformanceOverlay implements Disposable {
+    private static final int REFRESH_FRAMES = 30;
+    private static final float WIDTH = 330;
+    private static final float PADDING = 6;
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 0.6f);
+    private static final float[] PERCENTILES = {0.5f, 0.95f, 0.99f};
+    // Подписи наборов ObjectStore в порядке их констант
+    private static final String[] TYPE_NAMES = {"Doors", "Ores", "Chests", "Coins", "Enemies", "Solids"};
+
+    private final FrameProfiler profiler;
+    private final GLProfiler glProfiler;
+    private final PrimitiveRenderer primitives;
+    private final BitmapFont font;
+
+    private final StringBuilder text = new StringBuilder();
+    private final float[] percentileMillis = new float[PERCENTILES.length];
+    private boolean visible = false;
+    private int framesUntilRefresh = 0;
+    private int lines = 0;
+
+    // Счетчики OpenGL последнего кадра
+    private int drawCalls;
+    private int textureBindings;
+    private int shaderSwitches;
+
+    /**
+     * Конструктор оверлея.
+     * @param profiler Профилировщик фаз кадра
+     * @param primitives Отрисовщик фона
+     * @param font Шрифт текста
+     */
+    public PerformanceOverlay(FrameProfiler profiler, PrimitiveRenderer primitives, BitmapFont font) {
+        this.profiler = profiler;
+        this.primitives = primitives;
+        this.font = font;
+        this.glProfiler = new GLProfiler(Gdx.graphics);
+    }
+
+    /**
+     * Показ или скрытие оверлея вместе с профилировщиками.
+     */
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            glProfiler.reset();
+            glProfiler.enable();
+            framesUntilRefresh = 0;
+        } else {
+            glProfiler.disable();
+        }
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Конец кадра: снимок счетчиков и, если пора, пересборка текста.
+     * Вызывается после batch.end(), когда все вызовы отрисовки кадра сделаны,
+     * и после FrameProfiler.endFrame().
+     * @param world Игровой мир
+     * @param renderStats Счетчики отсечения кадра
+     */
+    public void endFrame(GameWorld world, RenderStats renderStats) {
+        if (!visible) return;
+
+        drawCalls = glProfiler.getDrawCalls();
+        textureBindings = glProfiler.getTextureBindings();
+        shaderSwitches = glProfiler.getShaderSwitches();
+        glProfiler.reset();
+
+        if (--framesUntilRefresh <= 0) {
+            framesUntilRefresh = REFRESH_FRAMES;
+            rebuildText(world, renderStats);
+        }
+    }
+
+    /**
+     * Отрисовка оверлея; правый верхний угол совпадает с заданной точкой.
+     * @param batch SpriteBatch для отрисовки
+     * @param right X-координата правого края
+     * @param top Y-координата верхнего края
+     */
+    public void render(SpriteBatch batch, float right, float top) {
+        if (!visible) return;
+
+        float height = lines * font.getLineHeight() + PADDING * 2;
+        primitives.fillRect(batch, right - WIDTH, top - height, WIDTH, height, BACKGROUND_COLOR);
+        font.draw(batch, text, right - WIDTH + PADDING, top - PADDING);
+    }
+
+    private void rebuildText(GameWorld world, RenderStats renderStats) {
+        text.setLength(0);
+        lines = 0;
+
+        text.append("Phase (ms, ").append(profiler.getFrameCount()).append(" frames)  p50 / p95 / p99");
+        newLine();
+        for (int phase = 0; phase < FrameProfiler.PHASE_COUNT; phase++) {
+            profiler.getPercentiles(phase, PERCENTILES, percentileMillis);
+            text.append(FrameProfiler.getPhaseName(phase)).append(": ");
+            for (int i = 0; i < percentileMillis.length; i++) {
+                if (i > 0) text.append(" / ");
+                appendMillis(percentileMillis[i]);
+            }
+            newLine();
+        }
+
+        text.append("Draw calls: ").append(drawCalls)
+            .append(", texture binds: ").append(textureBindings)
+            .append(", shader switches: ").append(shaderSwitches);
+        newLine();
+        text.append("Tiles: ").append(renderStats.getTilesDrawn()).append(" drawn, ")
+            .append(renderStats.getTilesCulled()).append(" culled");
+        newLine();
+        text.append("Objects: ").append(renderStats.getObjectsDrawn()).append(" drawn, ")
+            .append(renderStats.getObjectsCulled()).append(" culled");
+        newLine();
+
+        // Количество объектов уровня по типам - из наборов хранилища, без обхода уровня
+        ObjectStore objects = world.getObjects();
+        AiSystem ai = world.getEngine().getSystem(AiSystem.class);
+        text.append("Updates: ").append(ai.getUpdatedCount()).append(" last tick, ")
+            .append(ai.getActiveCount()).append(" with AI, ")
+            .append(objects.size() - ai.getActiveCount()).append(" without");
+        newLine();
+        text.append("Entities: ").append(objects.size() + 1).append(" (Player: 1)");
+        for (int type = 0; type < ObjectStore.TYPE_COUNT; type++) {
+            newLine();
+            text.append("  ").append(TYPE_NAMES[type]).append(": ").append(objects.size(type));
+        }
+        lines++;
+    }
+
+    private void newLine() {
+        text.append('\n');
+        lines++;
+    }
+
+    // Миллисекунды с двумя знаками после запятой без форматирования через String.format
+    private void appendMillis(float millis) {
+        int hundredths = Math.round(millis * 100);
+        text.append(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        if (fraction < 10) text.append('0');
+        text.append(fraction);
+    }
+
+    @Override
+    public void dispose() {
+        if (glProfiler.isEnabled()) {
+            glProfiler.disable();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package shaporenkoAndrew.com.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Отрисовка простых фигур (затемнения, полоски здоровья и прогресса)
+ * в общий SpriteBatch.
+ * Прямоугольник - это растянутый белый пиксель из атласа игрового мира,
+ * окрашенный цветом батча: текстуры в кадре не создаются, а батч
+ * не сбрасывается между спрайтами объектов и фигурами.
+ */
+public class PrimitiveRenderer {
+    private final TextureRegion pixel;
+
+    /**
+     * Конструктор отрисовщика.
+     * @param pixel Регион белого пикселя (GameAtlas.WHITE_PIXEL)
+     */
+    public PrimitiveRenderer(TextureRegion pixel) {
+        this.pixel = pixel;
+    }
+
+    /**
+     * Заливка прямоугольника цветом.
+     * Цвет батча после вызова восстанавливается.
+     * @param batch Батч, в который идет отрисовка
+     * @param x X-координата левого нижнего угла
+     * @param y Y-координата левого нижнего угла
+     * @param width Ширина
+     * @param height Высота
+     * @param color Цвет заливки
+     */
+    public void fillRect(Batch batch, float x, float y, float width, float height, Color color) {
+        float previousColor = batch.getPackedColor();
+        batch.setColor(color);
+        batch.draw(pixel, x, y, width, height);
+        batch.setPackedColor(previousColor);
+    }
+
+    /**
+     * Отрисовка полоски: фон на всю ширину и заполненная часть слева.
+     * @param batch Батч, в который идет отрисовка
+     * @param x X-координата левого нижнего угла
+     * @param y Y-координата левого нижнего угла
+     * @param width Ширина полоски
+     * @param height Высота полоски
+     * @param progress Доля заполнения от 0 до 1
+     * @param background Цвет фона
+     * @param foreground Цвет заполненной части
+     */
+    public void drawBar(Batch batch, float x, float y, float width, float height, float progress,
+                        Color background, Color foreground) {
+        fillRect(batch, x, y, width, height, background);
+        float filledWidth = width * MathUtils.clamp(progress, 0f, 1f);
+        if (filledWidth > 0) {
+            fillRect(batch, x, y, filledWidth, height, foreground);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package shaporenkoAndrew.com.render;
+
+/**
+ * Счетчики отсечения по камере за один кадр.
+ * Позволяют проверить, что стоимость отрисовки зависит от размера
+ * экрана, а не от размера уровня:
+ * - Сколько тайлов и объектов отправлено в SpriteBatch
+ * - Сколько отброшено как невидимые
+ */
+public class RenderStats {
+    private int tilesDrawn;
+    private int tilesCulled;
+    private int objectsDrawn;
+    private int objectsCulled;
+
+    /**
+     * Сброс счетчиков в начале кадра.
+     */
+    public void reset() {
+        tilesDrawn = 0;
+        tilesCulled = 0;
+        objectsDrawn = 0;
+        objectsCulled = 0;
+    }
+
+    /**
+     * Учет тайлов одного слоя.
+     * @param drawn Количество отрисованных тайлов
+     * @param culled Количество отброшенных тайлов
+     */
+    public void addTiles(int drawn, int culled) {
+        tilesDrawn += drawn;
+        tilesCulled += culled;
+    }
+
+    /**
+     * Учет игровых объектов.
+     * @param drawn Количество отрисованных объектов
+     * @param culled Количество отброшенных объектов
+     */
+    public void addObjects(int drawn, int culled) {
+        objectsDrawn += drawn;
+        objectsCulled += culled;
+    }
+
+    public int getTilesDrawn() { return tilesDrawn; }
+    public int getTilesCulled() { return tilesCulled; }
+    public int getObjectsDrawn() { return objectsDrawn; }
+    public int getObjectsCulled() { return objectsCulled; }
+}
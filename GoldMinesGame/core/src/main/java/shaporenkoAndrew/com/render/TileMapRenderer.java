@@ -0,0 +1,206 @@
+package shaporenkoAndrew.com.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+import shaporenkoAndrew.com.world.TileGrid;
+
+/**
+ * Отрисовка статического слоя уровня (пол и стены) одним вызовом отрисовки.
+ * Индексы тайлов один раз загружаются в маленькую текстуру (один тексель на тайл),
+ * а фрагментный шейдер для каждого пикселя находит нужный тайл в тайлсете.
+ * Функционал:
+ * - Отрисовка видимой части карты одним прямоугольником
+ * - Частичное обновление текстуры индексов при изменении тайла
+ * - Резервная отрисовка по тайлам, если шейдер не скомпилировался
+ * Шейдер использует только возможности GLSL 1.00/1.10,
+ * поэтому работает и на программном Mesa (llvmpipe).
+ */
+public class TileMapRenderer implements Disposable {
+    private static final int TILE_COUNT = 2; // FLOOR и WALL
+
+    private final Texture tileset;
+    private final TextureRegion[] tileRegions = new TextureRegion[TILE_COUNT];
+    private final ShaderProgram shader;
+    private final Pixmap texel;
+
+    private TileGrid grid;
+    private Pixmap indexPixmap;
+    private Texture indexTexture;
+
+    /**
+     * Конструктор отрисовщика.
+     * Собирает тайлсет из изображений пола и стены: стена накладывается
+     * на пол, чтобы каждый пиксель карты требовал одной выборки.
+     * @param floorFile Изображение пола
+     * @param wallFile Изображение стены
+     */
+    public TileMapRenderer(FileHandle floorFile, FileHandle wallFile) {
+        Pixmap floor = new Pixmap(floorFile);
+        Pixmap wall = new Pixmap(wallFile);
+        int tileWidth = floor.getWidth();
+        int tileHeight = floor.getHeight();
+
+        Pixmap tilesetPixmap = new Pixmap(tileWidth * TILE_COUNT, tileHeight, Pixmap.Format.RGBA8888);
+        tilesetPixmap.setBlending(Pixmap.Blending.None);
+        tilesetPixmap.drawPixmap(floor, TileGrid.FLOOR * tileWidth, 0);
+        tilesetPixmap.drawPixmap(floor, TileGrid.WALL * tileWidth, 0);
+        tilesetPixmap.setBlending(Pixmap.Blending.SourceOver);
+        tilesetPixmap.drawPixmap(wall, 0, 0, wall.getWidth(), wall.getHeight(),
+                                 TileGrid.WALL * tileWidth, 0, tileWidth, tileHeight);
+
+        tileset = new Texture(tilesetPixmap);
+        tileset.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        for (int id = 0; id < TILE_COUNT; id++) {
+            tileRegions[id] = new TextureRegion(tileset, id * tileWidth, 0, tileWidth, tileHeight);
+        }
+
+        tilesetPixmap.dispose();
+        floor.dispose();
+        wall.dispose();
+
+        shader = new ShaderProgram(Gdx.files.internal("shaders/tilemap.vert"),
+                                   Gdx.files.internal("shaders/tilemap.frag"));
+        if (!shader.isCompiled()) {
+            Gdx.app.error("TileMapRenderer", "Tilemap shader failed, falling back to per-tile drawing:\n"
+                + shader.getLog());
+        }
+
+        texel = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        texel.setBlending(Pixmap.Blending.None);
+    }
+
+    /**
+     * Установка карты для отрисовки.
+     * Загружает индексы всех тайлов в текстуру индексов.
+     * @param grid Тайловая сетка уровня
+     */
+    public void setGrid(TileGrid grid) {
+        this.grid = grid;
+        disposeIndex();
+
+        indexPixmap = new Pixmap(grid.getWidth(), grid.getHeight(), Pixmap.Format.RGBA8888);
+        indexPixmap.setBlending(Pixmap.Blending.None);
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                indexPixmap.drawPixel(x, y, encode(grid.getTile(x, y)));
+            }
+        }
+
+        indexTexture = new Texture(indexPixmap);
+        indexTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        indexTexture.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+    }
+
+    /**
+     * Обновление одного тайла после изменения сетки.
+     * Загружает на видеокарту только один тексель текстуры индексов.
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     */
+    public void updateTile(int tileX, int tileY) {
+        int color = encode(grid.getTile(tileX, tileY));
+        indexPixmap.drawPixel(tileX, tileY, color);
+        texel.drawPixel(0, 0, color);
+
+        indexTexture.bind();
+        Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+        Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, tileX, tileY, 1, 1,
+                               texel.getGLFormat(), texel.getGLType(), texel.getPixels());
+    }
+
+    /**
+     * Отрисовка видимой части карты.
+     * Должна вызываться между batch.begin() и batch.end().
+     * @param batch SpriteBatch для отрисовки
+     * @param view Видимая область мира
+     * @param stats Счетчики отсечения
+     */
+    public void render(SpriteBatch batch, Rectangle view, RenderStats stats) {
+        int minX = Math.max(0, TileGrid.toTile(view.x));
+        int minY = Math.max(0, TileGrid.toTile(view.y));
+        int maxX = Math.min(grid.getWidth() - 1, TileGrid.toTile(view.x + view.width));
+        int maxY = Math.min(grid.getHeight() - 1, TileGrid.toTile(view.y + view.height));
+        if (minX > maxX || minY > maxY) {
+            stats.addTiles(0, grid.getWidth() * grid.getHeight());
+            return;
+        }
+
+        if (shader.isCompiled()) {
+            renderWithShader(batch, minX, minY, maxX, maxY);
+        } else {
+            renderPerTile(batch, minX, minY, maxX, maxY);
+        }
+
+        int visible = (maxX - minX + 1) * (maxY - minY + 1);
+        stats.addTiles(visible, grid.getWidth() * grid.getHeight() - visible);
+    }
+
+    /**
+     * Отрисовка видимой области одним прямоугольником через шейдер карты.
+     * Текстурные координаты прямоугольника задаются в тайлах карты.
+     */
+    private void renderWithShader(SpriteBatch batch, int minX, int minY, int maxX, int maxY) {
+        float tileSize = TileGrid.TILE_SIZE;
+        batch.setShader(shader);
+
+        indexTexture.bind(1);
+        Gdx.gl.glActiveTexture(GL20.GL_TEXTURE0);
+        shader.setUniformi("u_tileIndex", 1);
+        shader.setUniformf("u_mapSize", grid.getWidth(), grid.getHeight());
+        shader.setUniformf("u_tileCount", TILE_COUNT);
+
+        batch.draw(tileset,
+                   minX * tileSize, minY * tileSize,
+                   (maxX - minX + 1) * tileSize, (maxY - minY + 1) * tileSize,
+                   minX, minY, maxX + 1, maxY + 1);
+
+        batch.setShader(null);
+    }
+
+    /**
+     * Резервная отрисовка: по одному прямоугольнику на видимый тайл.
+     */
+    private void renderPerTile(SpriteBatch batch, int minX, int minY, int maxX, int maxY) {
+        float tileSize = TileGrid.TILE_SIZE;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                batch.draw(tileRegions[grid.getTile(x, y)], x * tileSize, y * tileSize, tileSize, tileSize);
+            }
+        }
+    }
+
+    // Индекс тайла кодируется в красный канал
+    private static int encode(byte tile) {
+        return (tile & 0xFF) << 24 | 0xFF;
+    }
+
+    private void disposeIndex() {
+        if (indexTexture != null) {
+            indexTexture.dispose();
+            indexTexture = null;
+        }
+        if (indexPixmap != null) {
+            indexPixmap.dispose();
+            indexPixmap = null;
+        }
+    }
+
+    /**
+     * Освобождение текстур и шейдера.
+     */
+    @Override
+    public void dispose() {
+        disposeIndex();
+        tileset.dispose();
+        shader.dispose();
+        texel.dispose();
+    }
+}
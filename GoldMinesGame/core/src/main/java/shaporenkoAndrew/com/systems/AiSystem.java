@@ -0,0 +1,162 @@
+package shaporenkoAndrew.com.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Rectangle;
+import shaporenkoAndrew.com.components.AiComponent;
+import shaporenkoAndrew.com.components.BoundsComponent;
+import shaporenkoAndrew.com.components.Mappers;
+import shaporenkoAndrew.com.components.PositionComponent;
+import shaporenkoAndrew.com.gameObjects.GameObject;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+import shaporenkoAndrew.com.world.EnemyHorde;
+import shaporenkoAndrew.com.world.GameWorld;
+import shaporenkoAndrew.com.world.RoomPathfinder;
+
+/**
+ * Поведение врагов.
+ * Обновляются только сущности с AiComponent; объекты без поведения
+ * (монеты, руда, ящики, сундуки, двери) в шаг вообще не попадают.
+ * Враги обновляются тем реже, чем дальше они от игрока: пропущенное время
+ * копится и передается в следующий update, поэтому скорость врага
+ * от частоты не зависит. Частота выбирается заново каждый шаг по расстоянию,
+ * и если игрок подошел ближе, враг обновляется не позже, чем требует новая частота.
+ * Отрисовка врага сглаживается на весь его интервал (см. PositionComponent),
+ * поэтому редкие обновления не дают рывков на экране.
+ * Все решения зависят только от позиций и номера шага, поэтому прогон
+ * с тем же зерном остается воспроизводимым.
+ * Здесь же готовятся общие для врагов данные шага (видимость, поле направлений,
+ * пути между комнатами) и считается орда.
+ */
+public class AiSystem extends WorldSystem implements EntityListener {
+    public static final int PRIORITY = 1;
+    private static final Family FAMILY = Family.all(AiComponent.class, PositionComponent.class,
+                                                    BoundsComponent.class).get();
+
+    // Границы полос частоты: до первой - каждый шаг, дальше - реже вдвое на каждую полосу.
+    // Первая граница с запасом больше радиуса обзора врага (300 px): враг, который может
+    // заметить игрока, обновляется каждый шаг. Дальние враги бывают и на экране
+    private static final float[] BAND_DISTANCE = {640f, 1280f, 2560f};
+    private static final int[] BAND_INTERVAL = {1, 2, 4, 8};
+
+    private ImmutableArray<Entity> entities;
+    private int addedCount = 0;
+    private int updatedCount = 0;
+
+    /**
+     * Конструктор системы.
+     * @param world Игровой мир
+     */
+    public AiSystem(GameWorld world) {
+        super(world, PRIORITY, FrameProfiler.OBJECTS_UPDATE);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(FAMILY);
+        engine.addEntityListener(FAMILY, this);
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        engine.removeEntityListener(this);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        // Дальние враги разнесены по разным шагам, чтобы не обновляться все сразу;
+        // ближние все равно обновятся на первом же шаге (см. step)
+        AiComponent ai = Mappers.AI.get(entity);
+        ai.countdown = 1 + addedCount++ % BAND_INTERVAL[BAND_INTERVAL.length - 1];
+        ai.pendingDelta = 0;
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+    }
+
+    @Override
+    protected void step(float delta) {
+        Player player = world.getPlayer();
+        Rectangle playerBounds = player.getBounds();
+        float focusX = playerBounds.x + playerBounds.width / 2;
+        float focusY = playerBounds.y + playerBounds.height / 2;
+
+        // Результаты видимости прошлого шага устарели
+        world.getLineOfSight().beginTick();
+        // Путь к игроку пересчитывается один раз для всех врагов и только при смене тайла
+        world.getFlowField().setTarget(focusX, focusY);
+        // Пути между комнатами, запрошенные на прошлом шаге
+        RoomPathfinder pathfinder = world.getRoomPathfinder();
+        pathfinder.deliver();
+
+        updatedCount = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            AiComponent ai = Mappers.AI.get(entity);
+            ai.pendingDelta += delta;
+
+            int interval = getInterval(Mappers.BOUNDS.get(entity).rect, focusX, focusY);
+            int remaining = Math.min(ai.countdown, interval) - 1;
+            if (remaining > 0) {
+                ai.countdown = remaining;
+                Mappers.POSITION.get(entity).skipTick();
+                continue;
+            }
+
+            float entityDelta = ai.pendingDelta;
+            ai.countdown = interval;
+            ai.pendingDelta = 0;
+            GameObject object = (GameObject) entity;
+            object.beginTick(interval);
+            object.update(entityDelta);
+            world.getObjectIndex().update(object);
+            updatedCount++;
+        }
+
+        // Орда считается пакетом в пуле потоков; урон игроку применяется после шага
+        EnemyHorde horde = world.getHorde();
+        if (horde != null) {
+            horde.update(delta);
+            if (player.getHealth() <= 0) {
+                world.gameOver();
+            }
+        }
+
+        // Новые запросы путей ищутся в фоне до следующего шага
+        pathfinder.dispatch();
+    }
+
+    // Интервал обновления в шагах по полосе расстояния до центра сущности
+    private int getInterval(Rectangle bounds, float focusX, float focusY) {
+        float dx = bounds.x + bounds.width / 2 - focusX;
+        float dy = bounds.y + bounds.height / 2 - focusY;
+        float distance2 = dx * dx + dy * dy;
+        for (int band = 0; band < BAND_DISTANCE.length; band++) {
+            if (distance2 <= BAND_DISTANCE[band] * BAND_DISTANCE[band]) {
+                return BAND_INTERVAL[band];
+            }
+        }
+        return BAND_INTERVAL[BAND_INTERVAL.length - 1];
+    }
+
+    /**
+     * Количество сущностей с поведением.
+     * @return Количество врагов уровня (без орды)
+     */
+    public int getActiveCount() {
+        return entities.size();
+    }
+
+    /**
+     * Количество врагов, обновленных на последнем шаге.
+     * @return Количество вызовов update
+     */
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+}
@@ -0,0 +1,146 @@
+package shaporenkoAndrew.com.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.Array;
+import shaporenkoAndrew.com.components.ChestComponent;
+import shaporenkoAndrew.com.components.CollectibleComponent;
+import shaporenkoAndrew.com.components.DoorComponent;
+import shaporenkoAndrew.com.components.Mappers;
+import shaporenkoAndrew.com.components.PlayerComponent;
+import shaporenkoAndrew.com.components.SolidComponent;
+import shaporenkoAndrew.com.gameObjects.GameObject;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+import shaporenkoAndrew.com.world.GameWorld;
+
+/**
+ * Столкновения игрока с объектами уровня после обновления всех сущностей.
+ * Проверяются только объекты, которые пространственный индекс нашел
+ * в границах игрока, а обработка выбирается по компонентам объекта:
+ * - Монета (CollectibleComponent) подбирается касанием
+ * - Сундук (ChestComponent) открывается по нажатию E
+ * - Дверь (DoorComponent) по нажатию E открывается и ведет на следующий уровень
+ * - Ящик (SolidComponent с blocksMovement) не пропускает игрока
+ */
+public class CollisionSystem extends WorldSystem {
+    public static final int PRIORITY = 2;
+    private static final Family PLAYER_FAMILY = Family.all(PlayerComponent.class).get();
+
+    private ImmutableArray<Entity> players;
+    private final Array<GameObject> nearbyObjects = new Array<>();
+
+    /**
+     * Конструктор системы.
+     * @param world Игровой мир
+     */
+    public CollisionSystem(GameWorld world) {
+        super(world, PRIORITY, FrameProfiler.COLLISION);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(PLAYER_FAMILY);
+    }
+
+    @Override
+    protected void step(float delta) {
+        for (int i = 0; i < players.size(); i++) {
+            Player player = (Player) players.get(i);
+            nearbyObjects.clear();
+            world.getObjectIndex().queryRect(player.getBounds(), nearbyObjects);
+            for (int j = 0; j < nearbyObjects.size; j++) {
+                handleCollision(player, nearbyObjects.get(j));
+            }
+        }
+    }
+
+    /**
+     * Обработка коллизии игрока с конкретным объектом.
+     * @param player Игрок
+     * @param entity Объект, с которым произошла коллизия
+     */
+    private void handleCollision(Player player, GameObject entity) {
+        boolean interact = world.getInput().isKeyJustPressed(Input.Keys.E);
+
+        CollectibleComponent collectible = Mappers.COLLECTIBLE.get(entity);
+        if (collectible != null) {
+            player.addCoins(collectible.value);
+            world.removeObject(entity);
+            world.coinCollected();
+            return;
+        }
+
+        ChestComponent chest = Mappers.CHEST.get(entity);
+        if (chest != null) {
+            if (interact) {
+                openChest(chest, entity, player);
+            }
+            return;
+        }
+
+        DoorComponent door = Mappers.DOOR.get(entity);
+        if (door != null) {
+            if (interact) {
+                world.openDoor(door, entity);
+                if (door.open) {
+                    world.nextLevel();
+                }
+            }
+            return;
+        }
+
+        SolidComponent solid = Mappers.SOLID.get(entity);
+        if (solid != null && solid.blocksMovement) {
+            player.resolveCollision(entity.getBounds());
+        }
+    }
+
+    /**
+     * Открытие сундука игроком.
+     * При открытии:
+     * - Проверяется наличие необходимого количества руды у игрока
+     * - Выдаются монеты
+     * - Случайным образом выдается один из бонусов:
+     *   * Восстановление здоровья (25% шанс)
+     *   * Увеличение максимального здоровья
+     *   * Увеличение максимальной выносливости
+     *   * Увеличение скорости
+     * @param chest Компонент сундука
+     * @param entity Сущность сундука
+     * @param player Игрок, открывающий сундук
+     */
+    private void openChest(ChestComponent chest, Entity entity, Player player) {
+        if (chest.opened || !player.hasEnoughOre()) {
+            return;
+        }
+        chest.opened = true;
+        player.removeOre(2);
+        player.addCoins(chest.coins);
+
+        // Меняем спрайт на открытый сундук
+        Mappers.SPRITE.get(entity).region = chest.openRegion;
+
+        // Шанс 25% на восстановление здоровья
+        if (chest.random.nextFloat() < 0.25f) {
+            player.heal(40);
+            return;
+        }
+
+        // Случайный бонус из остальных
+        switch (chest.random.nextInt(3)) {
+            case 0:
+                player.increaseMaxHealth(20);
+                break;
+            case 1:
+                player.increaseMaxStamina(20);
+                break;
+            case 2:
+                player.increaseSpeed(0.2f);
+                break;
+        }
+    }
+}
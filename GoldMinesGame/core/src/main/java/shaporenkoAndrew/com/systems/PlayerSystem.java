@@ -0,0 +1,47 @@
+package shaporenkoAndrew.com.systems;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import shaporenkoAndrew.com.components.PlayerComponent;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+import shaporenkoAndrew.com.world.GameWorld;
+
+/**
+ * Движение игрока по вводу: первая система шага.
+ * Если игрок погиб, игра заканчивается и остальные системы шага не выполняются.
+ */
+public class PlayerSystem extends WorldSystem {
+    public static final int PRIORITY = 0;
+    private static final Family FAMILY = Family.all(PlayerComponent.class).get();
+
+    private ImmutableArray<Entity> players;
+
+    /**
+     * Конструктор системы.
+     * @param world Игровой мир
+     */
+    public PlayerSystem(GameWorld world) {
+        super(world, PRIORITY, FrameProfiler.PLAYER_UPDATE);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(FAMILY);
+    }
+
+    @Override
+    protected void step(float delta) {
+        for (int i = 0; i < players.size(); i++) {
+            Player player = (Player) players.get(i);
+            player.beginTick();
+            player.update(delta);
+            if (player.isDead()) {
+                world.gameOver();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package shaporenkoAndrew.com.systems;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import shaporenkoAndrew.com.components.Mappers;
+import shaporenkoAndrew.com.components.PositionComponent;
+import shaporenkoAndrew.com.components.SpriteComponent;
+import shaporenkoAndrew.com.gameObjects.GameObject;
+import shaporenkoAndrew.com.render.RenderStats;
+import shaporenkoAndrew.com.world.SpatialGrid;
+
+/**
+ * Отрисовка спрайтов сущностей в позиции, сглаженной между шагами симуляции.
+ * Рисует экран, а не шаг мира, поэтому система не обновляется движком
+ * (setProcessing(false)) и вызывается из GameScreen раз в кадр.
+ * Объекты уровня отсекаются по камере пространственным индексом.
+ */
+public class RenderSystem extends EntitySystem {
+    private final Array<GameObject> visibleObjects = new Array<>();
+
+    public RenderSystem() {
+        setProcessing(false);
+    }
+
+    /**
+     * Отрисовка объектов уровня, попавших в область камеры.
+     * @param batch SpriteBatch для отрисовки (между begin и end)
+     * @param objectIndex Пространственный индекс объектов уровня
+     * @param view Область мира, которую видит камера
+     * @param alpha Доля времени после последнего шага (0..1)
+     * @param stats Счетчики отсечения кадра
+     */
+    public void render(SpriteBatch batch, SpatialGrid objectIndex, Rectangle view, float alpha, RenderStats stats) {
+        visibleObjects.clear();
+        objectIndex.queryRect(view, visibleObjects);
+        for (int i = 0; i < visibleObjects.size; i++) {
+            draw(batch, visibleObjects.get(i), alpha);
+        }
+        stats.addObjects(visibleObjects.size, objectIndex.size() - visibleObjects.size);
+    }
+
+    /**
+     * Отрисовка одной сущности без отсечения (например, игрока).
+     * @param batch SpriteBatch для отрисовки (между begin и end)
+     * @param entity Сущность со спрайтом
+     * @param alpha Доля времени после последнего шага (0..1)
+     */
+    public void draw(SpriteBatch batch, Entity entity, float alpha) {
+        PositionComponent position = Mappers.POSITION.get(entity);
+        SpriteComponent sprite = Mappers.SPRITE.get(entity);
+        position.interpolate(alpha);
+        if (sprite.flipX) {
+            batch.draw(sprite.region, position.drawX + sprite.width, position.drawY, -sprite.width, sprite.height);
+        } else {
+            batch.draw(sprite.region, position.drawX, position.drawY, sprite.width, sprite.height);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package shaporenkoAndrew.com.systems;
+
+import com.badlogic.ashley.core.EntitySystem;
+import shaporenkoAndrew.com.world.GameWorld;
+
+/**
+ * Система шага игрового мира.
+ * Время каждой системы замеряется профилировщиком мира как отдельная фаза,
+ * а после победы или поражения системы до конца шага не выполняются.
+ */
+public abstract class WorldSystem extends EntitySystem {
+    protected final GameWorld world;
+    private final int phase;
+
+    /**
+     * Конструктор системы.
+     * @param world Игровой мир
+     * @param priority Порядок выполнения в шаге (меньше - раньше)
+     * @param phase Фаза FrameProfiler, в которую записывается время системы
+     */
+    protected WorldSystem(GameWorld world, int priority, int phase) {
+        super(priority);
+        this.world = world;
+        this.phase = phase;
+    }
+
+    @Override
+    public final void update(float deltaTime) {
+        world.getProfiler().begin(phase);
+        step(deltaTime);
+        world.getProfiler().end(phase);
+    }
+
+    @Override
+    public boolean checkProcessing() {
+        return !world.isFinished() && super.checkProcessing();
+    }
+
+    /**
+     * Один шаг системы.
+     * @param delta Длина шага симуляции
+     */
+    protected abstract void step(float delta);
+}
@@ -0,0 +1,495 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import shaporenkoAndrew.com.gameObjects.Player;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Орда врагов для режима с тысячами противников.
+ * В отличие от Enemy, враг орды - не объект, а индекс в параллельных
+ * примитивных массивах (позиция, направление патруля, таймеры, режим,
+ * состояние генератора случайных чисел).
+ * Шаг считается пакетно: массивы делятся на отрезки, и отрезки считаются
+ * параллельно в пуле fork/join. Состояние хранится в двух буферах:
+ * шаг читает только текущий буфер и пишет только в следующий, поэтому
+ * враги, читающие позиции соседей, не видят частично обновленный шаг,
+ * и результат не зависит от числа потоков и разбиения на отрезки.
+ * Урон игроку не наносится из потоков: враг только отмечает атаку,
+ * а урон применяется после шага в порядке индексов.
+ * Поведение упрощено по сравнению с Enemy: погоня по полю направлений,
+ * патрулирование в случайном направлении и расталкивание соседей.
+ * Одна орда служит всем уровням: reset переключает ее на новый уровень,
+ * сохраняя массивы и пул потоков.
+ */
+public class EnemyHorde implements Disposable {
+    // Константы поведения (как у Enemy)
+    private static final float SIZE = 32f;
+    private static final float HALF_SIZE = SIZE / 2;
+    private static final float SPEED = 150f;
+    private static final float PATROL_SPEED = 100f;
+    private static final float VISION_RADIUS = 300f;
+    private static final float PATROL_TIME = 2f;
+    private static final float DAMAGE_AMOUNT = 20f;
+    private static final float DAMAGE_COOLDOWN = 2.0f;
+    private static final float ATTACK_RANGE = 50f;
+
+    // Расталкивание: соседи ближе радиуса отталкивают врага, учитываются первые несколько
+    private static final float SEPARATION_RADIUS = 24f;
+    private static final float SEPARATION_WEIGHT = 0.6f;
+    private static final int MAX_NEIGHBORS = 8;
+    // Ячейка сетки соседей не меньше радиуса расталкивания: хватает соседних ячеек
+    private static final int CELL_SIZE = TileGrid.TILE_SIZE;
+
+    /** Орда меньше этого размера считается в потоке обновления без пула. */
+    public static final int PARALLEL_THRESHOLD = 1024;
+    // Отрезков больше, чем потоков, чтобы потоки, закончившие раньше, забирали чужую работу
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    // Режимы врага
+    private static final byte PATROL = 0;
+    private static final byte CHASE = 1;
+
+    /**
+     * Один буфер состояния орды.
+     */
+    private static final class State {
+        final float[] x;
+        final float[] y;
+        final float[] patrolX;
+        final float[] patrolY;
+        final float[] patrolTimer;
+        final float[] attackTimer;
+        final byte[] mode;
+        final long[] random;
+
+        State(int capacity) {
+            x = new float[capacity];
+            y = new float[capacity];
+            patrolX = new float[capacity];
+            patrolY = new float[capacity];
+            patrolTimer = new float[capacity];
+            attackTimer = new float[capacity];
+            mode = new byte[capacity];
+            random = new long[capacity];
+        }
+    }
+
+    /**
+     * Отрезок врагов для одного потока со своими рабочими объектами.
+     */
+    private final class Chunk extends RecursiveAction {
+        private final Rectangle bounds = new Rectangle(0, 0, SIZE, SIZE);
+        private final Vector2 direction = new Vector2();
+        private int from;
+        private int to;
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                step(i, bounds, direction);
+            }
+        }
+    }
+
+    private TileCollider tileCollider;
+    private LineOfSight lineOfSight;
+    private FlowField flowField;
+    private final Player player;
+    private final int capacity;
+    private int size = 0;
+
+    private State current;
+    private State next;
+    private final boolean[] attacked;
+
+    // Сетка соседей: индексы врагов, отсортированные по ячейкам (подсчетом)
+    private int gridWidth;
+    private int gridHeight;
+    private int[] cellStart;
+    private int[] cellFill;
+    private final int[] cellOf;
+    private final int[] sorted;
+
+    // Параллельный шаг; пул создается, только если орда достаточно большая
+    private ForkJoinPool pool;
+    private Chunk[] chunks;
+    private final Chunk serialChunk = new Chunk();
+    private final RecursiveAction stepAll = new RecursiveAction() {
+        @Override
+        protected void compute() {
+            invokeAll(chunks);
+        }
+    };
+
+    // Данные шага, общие для всех потоков (только чтение)
+    private float delta;
+    private float targetX;
+    private float targetY;
+
+    /**
+     * Конструктор орды.
+     * @param capacity Максимальное количество врагов
+     * @param tileCollider Сервис столкновений со стенами уровня
+     * @param lineOfSight Проверка прямой видимости уровня
+     * @param flowField Общее поле направлений к игроку
+     * @param player Игрок, которого преследует орда
+     */
+    public EnemyHorde(int capacity, TileCollider tileCollider, LineOfSight lineOfSight,
+                      FlowField flowField, Player player) {
+        this(capacity, tileCollider, lineOfSight, flowField, player,
+             Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор орды с заданным числом потоков пула.
+     * Больше одного потока можно задать и на одноядерной машине, например
+     * чтобы проверить параллельный шаг.
+     * @param capacity Максимальное количество врагов
+     * @param tileCollider Сервис столкновений со стенами уровня
+     * @param lineOfSight Проверка прямой видимости уровня
+     * @param flowField Общее поле направлений к игроку
+     * @param player Игрок, которого преследует орда
+     * @param threads Количество потоков пула (1 - шаг без пула)
+     */
+    public EnemyHorde(int capacity, TileCollider tileCollider, LineOfSight lineOfSight,
+                      FlowField flowField, Player player, int threads) {
+        this.capacity = capacity;
+        this.player = player;
+        this.current = new State(capacity);
+        this.next = new State(capacity);
+        this.attacked = new boolean[capacity];
+        this.cellOf = new int[capacity];
+        this.sorted = new int[capacity];
+        reset(tileCollider, lineOfSight, flowField);
+
+        if (capacity >= PARALLEL_THRESHOLD && threads > 1) {
+            pool = new ForkJoinPool(threads);
+            chunks = new Chunk[threads * CHUNKS_PER_THREAD];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new Chunk();
+            }
+        }
+    }
+
+    /**
+     * Переключение орды на новый уровень: все враги удаляются.
+     * Сетка соседей пересоздается, только если изменился размер уровня.
+     * @param tileCollider Сервис столкновений со стенами уровня
+     * @param lineOfSight Проверка прямой видимости уровня
+     * @param flowField Общее поле направлений к игроку
+     */
+    public void reset(TileCollider tileCollider, LineOfSight lineOfSight, FlowField flowField) {
+        this.tileCollider = tileCollider;
+        this.lineOfSight = lineOfSight;
+        this.flowField = flowField;
+        this.size = 0;
+
+        TileGrid grid = tileCollider.getGrid();
+        int width = Math.max(1, grid.getWidth() * TileGrid.TILE_SIZE / CELL_SIZE);
+        int height = Math.max(1, grid.getHeight() * TileGrid.TILE_SIZE / CELL_SIZE);
+        if (cellStart == null || width != gridWidth || height != gridHeight) {
+            gridWidth = width;
+            gridHeight = height;
+            cellStart = new int[gridWidth * gridHeight + 1];
+            cellFill = new int[gridWidth * gridHeight];
+        }
+    }
+
+    /**
+     * Добавление врага.
+     * @param x Позиция по X
+     * @param y Позиция по Y
+     * @param seed Зерно генератора случайных чисел врага
+     * @return false если орда заполнена
+     */
+    public boolean spawn(float x, float y, long seed) {
+        if (size == capacity) return false;
+        int i = size++;
+        current.x[i] = x;
+        current.y[i] = y;
+        current.attackTimer[i] = DAMAGE_COOLDOWN;
+        current.mode[i] = PATROL;
+        // Нулевое состояние xorshift не меняется, поэтому подмешиваем константу
+        long random = seed ^ 0x9E3779B97F4A7C15L;
+        current.random[i] = random != 0 ? random : 1;
+        current.patrolTimer[i] = PATROL_TIME;
+
+        // Для интерполяции в первом кадре прошлое состояние совпадает с текущим
+        next.x[i] = x;
+        next.y[i] = y;
+        return true;
+    }
+
+    /**
+     * Шаг орды: сетка соседей, параллельный расчет, смена буферов и урон игроку.
+     * Поле направлений должно быть уже нацелено на игрока в этом шаге.
+     * @param delta Длина шага
+     */
+    public void update(float delta) {
+        if (size == 0) return;
+
+        Rectangle playerBounds = player.getBounds();
+        this.delta = delta;
+        this.targetX = playerBounds.x + playerBounds.width / 2;
+        this.targetY = playerBounds.y + playerBounds.height / 2;
+
+        buildNeighborGrid();
+
+        if (pool != null && size >= PARALLEL_THRESHOLD) {
+            int chunkSize = (size + chunks.length - 1) / chunks.length;
+            for (int c = 0; c < chunks.length; c++) {
+                chunks[c].reinitialize();
+                chunks[c].from = Math.min(size, c * chunkSize);
+                chunks[c].to = Math.min(size, (c + 1) * chunkSize);
+            }
+            stepAll.reinitialize();
+            pool.invoke(stepAll);
+        } else {
+            serialChunk.from = 0;
+            serialChunk.to = size;
+            serialChunk.compute();
+        }
+
+        // Следующий буфер становится текущим, прошлый остается для интерполяции
+        State previous = current;
+        current = next;
+        next = previous;
+
+        // Урон в порядке индексов: результат не зависит от порядка потоков
+        for (int i = 0; i < size; i++) {
+            if (attacked[i]) {
+                player.damage(DAMAGE_AMOUNT);
+            }
+        }
+    }
+
+    /**
+     * Отрисовка видимых врагов в позициях между прошлым и текущим шагом.
+     * @param batch SpriteBatch для отрисовки
+     * @param texture Спрайт врага
+     * @param view Видимая область мира
+     * @param alpha Доля времени после последнего шага (0..1)
+     * @return Количество нарисованных врагов
+     */
+    public int render(SpriteBatch batch, TextureRegion texture, Rectangle view, float alpha) {
+        Rectangle playerBounds = player.getBounds();
+        float playerX = playerBounds.x + playerBounds.width / 2;
+        int drawn = 0;
+        for (int i = 0; i < size; i++) {
+            float x = next.x[i] + (current.x[i] - next.x[i]) * alpha;
+            float y = next.y[i] + (current.y[i] - next.y[i]) * alpha;
+            if (x + SIZE < view.x || x > view.x + view.width
+                || y + SIZE < view.y || y > view.y + view.height) {
+                continue;
+            }
+
+            // Как у Enemy: в погоне смотрим на игрока, в патруле - по направлению движения
+            boolean facingLeft = current.mode[i] == CHASE ? playerX < x + HALF_SIZE : current.patrolX[i] < 0;
+            batch.draw(texture, facingLeft ? x + SIZE : x, y, facingLeft ? -SIZE : SIZE, SIZE);
+            drawn++;
+        }
+        return drawn;
+    }
+
+    // Сортировка индексов врагов по ячейкам подсчетом по текущему буферу
+    private void buildNeighborGrid() {
+        int cells = gridWidth * gridHeight;
+        for (int c = 0; c <= cells; c++) {
+            cellStart[c] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            int cell = cellAt(current.x[i] + HALF_SIZE, current.y[i] + HALF_SIZE);
+            cellOf[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cellFill[c] = cellStart[c];
+        }
+        for (int i = 0; i < size; i++) {
+            sorted[cellFill[cellOf[i]]++] = i;
+        }
+    }
+
+    private int cellAt(float worldX, float worldY) {
+        int cellX = MathUtils.clamp(MathUtils.floor(worldX / CELL_SIZE), 0, gridWidth - 1);
+        int cellY = MathUtils.clamp(MathUtils.floor(worldY / CELL_SIZE), 0, gridHeight - 1);
+        return cellY * gridWidth + cellX;
+    }
+
+    // Шаг одного врага: читает current, пишет next[i] и attacked[i]
+    private void step(int i, Rectangle bounds, Vector2 direction) {
+        State in = current;
+        State out = next;
+        float x = in.x[i];
+        float y = in.y[i];
+        float centerX = x + HALF_SIZE;
+        float centerY = y + HALF_SIZE;
+        float patrolX = in.patrolX[i];
+        float patrolY = in.patrolY[i];
+        float patrolTimer = in.patrolTimer[i];
+        float attackTimer = in.attackTimer[i] + delta;
+        long random = in.random[i];
+
+        float toPlayerX = targetX - centerX;
+        float toPlayerY = targetY - centerY;
+        float distance2 = toPlayerX * toPlayerX + toPlayerY * toPlayerY;
+        // Видимость без кэша LineOfSight: кэш не рассчитан на несколько потоков
+        boolean seesPlayer = distance2 <= VISION_RADIUS * VISION_RADIUS
+            && lineOfSight.isClear(centerX, centerY, targetX, targetY);
+
+        float speed;
+        if (seesPlayer) {
+            if (!flowField.getDirection(centerX, centerY, direction)) {
+                direction.set(toPlayerX, toPlayerY).nor();
+            }
+            speed = SPEED;
+        } else {
+            patrolTimer += delta;
+            if (patrolTimer >= PATROL_TIME) {
+                patrolTimer = 0;
+                random = nextRandom(random);
+                patrolX = toAxis(random);
+                random = nextRandom(random);
+                patrolY = toAxis(random);
+                float length = (float)Math.sqrt(patrolX * patrolX + patrolY * patrolY);
+                if (length > 0) {
+                    patrolX /= length;
+                    patrolY /= length;
+                }
+            }
+            direction.set(patrolX, patrolY);
+            speed = PATROL_SPEED;
+        }
+
+        addSeparation(i, centerX, centerY, direction);
+
+        // Движение со скольжением вдоль стен
+        float targetMoveX = x + direction.x * speed * delta;
+        float targetMoveY = y + direction.y * speed * delta;
+        bounds.setPosition(x, y);
+        float newX = tileCollider.sweepX(bounds, targetMoveX);
+        bounds.setPosition(newX, y);
+        float newY = tileCollider.sweepY(bounds, targetMoveY);
+
+        // Патрульный, упершийся в стену, разворачивается
+        if (!seesPlayer && (newX != targetMoveX || newY != targetMoveY)) {
+            patrolX = -patrolX;
+            patrolY = -patrolY;
+            patrolTimer = 0;
+        }
+
+        boolean attacks = false;
+        if (seesPlayer && distance2 <= ATTACK_RANGE * ATTACK_RANGE && attackTimer >= DAMAGE_COOLDOWN) {
+            attacks = true;
+            attackTimer = 0;
+        }
+
+        out.x[i] = newX;
+        out.y[i] = newY;
+        out.patrolX[i] = patrolX;
+        out.patrolY[i] = patrolY;
+        out.patrolTimer[i] = patrolTimer;
+        out.attackTimer[i] = attackTimer;
+        out.mode[i] = seesPlayer ? CHASE : PATROL;
+        out.random[i] = random;
+        attacked[i] = attacks;
+    }
+
+    // Отталкивание от ближайших соседей по позициям прошлого шага
+    private void addSeparation(int i, float centerX, float centerY, Vector2 direction) {
+        int cell = cellOf[i];
+        int cellX = cell % gridWidth;
+        int cellY = cell / gridWidth;
+        float pushX = 0;
+        float pushY = 0;
+        int neighbors = 0;
+
+        for (int ny = Math.max(0, cellY - 1); ny <= Math.min(gridHeight - 1, cellY + 1); ny++) {
+            for (int nx = Math.max(0, cellX - 1); nx <= Math.min(gridWidth - 1, cellX + 1); nx++) {
+                int neighborCell = ny * gridWidth + nx;
+                for (int k = cellStart[neighborCell]; k < cellStart[neighborCell + 1]; k++) {
+                    int j = sorted[k];
+                    if (j == i) continue;
+                    float awayX = centerX - (current.x[j] + HALF_SIZE);
+                    float awayY = centerY - (current.y[j] + HALF_SIZE);
+                    float distance2 = awayX * awayX + awayY * awayY;
+                    if (distance2 >= SEPARATION_RADIUS * SEPARATION_RADIUS) continue;
+
+                    float distance = (float)Math.sqrt(distance2);
+                    if (distance > 0) {
+                        float strength = (1f - distance / SEPARATION_RADIUS) / distance;
+                        pushX += awayX * strength;
+                        pushY += awayY * strength;
+                    } else {
+                        // Враги в одной точке расходятся в разные стороны по индексам
+                        pushX += i < j ? -1 : 1;
+                    }
+                    if (++neighbors == MAX_NEIGHBORS) {
+                        direction.add(pushX * SEPARATION_WEIGHT, pushY * SEPARATION_WEIGHT).nor();
+                        return;
+                    }
+                }
+            }
+        }
+
+        if (neighbors > 0) {
+            direction.add(pushX * SEPARATION_WEIGHT, pushY * SEPARATION_WEIGHT).nor();
+        }
+    }
+
+    // Генератор xorshift64: состояние врага хранится в массиве, а не в объекте Random
+    private static long nextRandom(long state) {
+        state ^= state << 13;
+        state ^= state >>> 7;
+        state ^= state << 17;
+        return state;
+    }
+
+    // Случайная составляющая направления в диапазоне [-1, 1) из старших бит состояния
+    private static float toAxis(long state) {
+        return (state >>> 40) / (float)(1 << 24) * 2f - 1f;
+    }
+
+    /**
+     * Количество врагов в орде.
+     * @return Количество врагов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверка, считается ли шаг параллельно.
+     * @return true если шаг делится между потоками пула
+     */
+    public boolean isParallel() {
+        return pool != null && size >= PARALLEL_THRESHOLD;
+    }
+
+    public float getX(int index) {
+        return current.x[index];
+    }
+
+    public float getY(int index) {
+        return current.y[index];
+    }
+
+    /**
+     * Остановка потоков пула.
+     */
+    @Override
+    public void dispose() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package shaporenkoAndrew.com.world;
+
+/**
+ * Фиксированный шаг симуляции с накопителем времени.
+ * Кадр любой длины превращается в целое число шагов одинаковой длины,
+ * а остаток переносится в следующий кадр и задает долю интерполяции при отрисовке.
+ * Число шагов за кадр ограничено: после долгого кадра лишнее время отбрасывается,
+ * и игра на мгновение замедляется, а не пытается догнать реальное время.
+ */
+public class FixedTimestep {
+    private final float step;
+    private final int maxSteps;
+    private float accumulator = 0;
+
+    /**
+     * Конструктор шага.
+     * @param tickRate Количество шагов симуляции в секунду
+     * @param maxSteps Максимальное количество шагов за один кадр
+     */
+    public FixedTimestep(float tickRate, int maxSteps) {
+        this.step = 1f / tickRate;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Добавление времени кадра.
+     * @param delta Время кадра
+     * @return Количество шагов симуляции, которые нужно выполнить
+     */
+    public int advance(float delta) {
+        accumulator += delta;
+        int steps = 0;
+        while (accumulator >= step && steps < maxSteps) {
+            accumulator -= step;
+            steps++;
+        }
+
+        // Отставание больше лимита не догоняем
+        if (accumulator >= step) {
+            accumulator %= step;
+        }
+        return steps;
+    }
+
+    /**
+     * Доля времени между последним и следующим шагом.
+     * @return Значение от 0 до 1 для интерполяции позиций
+     */
+    public float getAlpha() {
+        return accumulator / step;
+    }
+
+    /**
+     * Длина одного шага.
+     * @return Время шага в секундах
+     */
+    public float getStep() {
+        return step;
+    }
+}
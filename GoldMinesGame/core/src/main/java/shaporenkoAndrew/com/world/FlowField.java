@@ -0,0 +1,156 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Поле направлений к цели (игроку), общее для всех преследующих врагов.
+ * Карта расстояний строится поиском в ширину от тайла цели по проходимым тайлам
+ * и пересчитывается только когда цель переходит в другой тайл.
+ * Поиск ограничен радиусом MAX_DISTANCE тайлов: дальние враги цель не преследуют,
+ * поэтому стоимость пересчета не зависит от размера уровня.
+ * Массивы не очищаются между пересчетами: тайл считается посещенным,
+ * только если его метка совпадает с номером текущего пересчета.
+ * Каждый враг читает направление своего тайла за несколько обращений к массиву.
+ */
+public class FlowField {
+    /** Максимальная длина пути до цели в тайлах. */
+    public static final int MAX_DISTANCE = 24;
+    /** Расстояние тайла, который цель не достигает. */
+    public static final int UNREACHED = -1;
+
+    private static final int TILE_SIZE = TileGrid.TILE_SIZE;
+    // Соседи для поиска: только по сторонам, чтобы путь не срезал углы стен
+    private static final int[] STEP_X = {1, -1, 0, 0};
+    private static final int[] STEP_Y = {0, 0, 1, -1};
+
+    private final TileGrid grid;
+    private final int width;
+    private final int height;
+    private final int[] distance;
+    private final int[] visitedIn;
+    private final int[] queue;
+    private int generation = 0;
+    private int targetTile = -1;
+
+    /**
+     * Конструктор поля.
+     * @param grid Тайловая сетка уровня
+     */
+    public FlowField(TileGrid grid) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.distance = new int[width * height];
+        this.visitedIn = new int[width * height];
+        this.queue = new int[width * height];
+    }
+
+    /**
+     * Установка цели в точке мира.
+     * Карта расстояний пересчитывается, только если изменился тайл цели.
+     * @param targetX X-координата цели
+     * @param targetY Y-координата цели
+     * @return true если карта была пересчитана
+     */
+    public boolean setTarget(float targetX, float targetY) {
+        int tileX = TileGrid.toTile(targetX);
+        int tileY = TileGrid.toTile(targetY);
+        int tile = isInside(tileX, tileY) ? tileY * width + tileX : -1;
+        if (tile == targetTile) {
+            return false;
+        }
+
+        targetTile = tile;
+        generation++;
+        if (tile >= 0 && !grid.isSolid(tileX, tileY)) {
+            search(tile);
+        }
+        return true;
+    }
+
+    /**
+     * Расстояние от тайла до цели в шагах по тайлам.
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     * @return Расстояние или UNREACHED, если тайл дальше MAX_DISTANCE или путь закрыт
+     */
+    public int getDistance(int tileX, int tileY) {
+        if (!isInside(tileX, tileY)) {
+            return UNREACHED;
+        }
+        int tile = tileY * width + tileX;
+        return visitedIn[tile] == generation ? distance[tile] : UNREACHED;
+    }
+
+    /**
+     * Направление движения к цели из точки мира: на центр соседнего тайла,
+     * ближайшего к цели. Диагональный шаг выбирается, только если оба
+     * соседних по сторонам тайла проходимы, чтобы не цеплять углы стен.
+     * @param x X-координата точки (обычно центр врага)
+     * @param y Y-координата точки
+     * @param out Вектор для результата (единичной длины)
+     * @return false если точка уже в тайле цели или цель из нее недостижима
+     */
+    public boolean getDirection(float x, float y, Vector2 out) {
+        int tileX = TileGrid.toTile(x);
+        int tileY = TileGrid.toTile(y);
+        int bestDistance = getDistance(tileX, tileY);
+        if (bestDistance <= 0) {
+            return false;
+        }
+
+        int bestX = tileX;
+        int bestY = tileY;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+                if (dx != 0 && dy != 0
+                    && (grid.isSolid(tileX + dx, tileY) || grid.isSolid(tileX, tileY + dy))) {
+                    continue;
+                }
+                int neighborDistance = getDistance(tileX + dx, tileY + dy);
+                if (neighborDistance != UNREACHED && neighborDistance < bestDistance) {
+                    bestDistance = neighborDistance;
+                    bestX = tileX + dx;
+                    bestY = tileY + dy;
+                }
+            }
+        }
+
+        out.set((bestX + 0.5f) * TILE_SIZE - x, (bestY + 0.5f) * TILE_SIZE - y).nor();
+        return true;
+    }
+
+    // Поиск в ширину от тайла цели до MAX_DISTANCE
+    private void search(int startTile) {
+        int head = 0;
+        int tail = 0;
+        visitedIn[startTile] = generation;
+        distance[startTile] = 0;
+        queue[tail++] = startTile;
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int tileDistance = distance[tile];
+            if (tileDistance >= MAX_DISTANCE) continue;
+
+            int tileX = tile % width;
+            int tileY = tile / width;
+            for (int i = 0; i < STEP_X.length; i++) {
+                int nextX = tileX + STEP_X[i];
+                int nextY = tileY + STEP_Y[i];
+                if (!isInside(nextX, nextY) || grid.isSolid(nextX, nextY)) continue;
+
+                int next = nextY * width + nextX;
+                if (visitedIn[next] == generation) continue;
+                visitedIn[next] = generation;
+                distance[next] = tileDistance + 1;
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    private boolean isInside(int tileX, int tileY) {
+        return tileX >= 0 && tileX < width && tileY >= 0 && tileY < height;
+    }
+}
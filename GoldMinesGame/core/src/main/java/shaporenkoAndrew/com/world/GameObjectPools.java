@@ -0,0 +1,97 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import shaporenkoAndrew.com.gameObjects.*;
+
+/**
+ * Пулы объектов уровня по типам.
+ * Монеты, руда, ящики, сундуки, двери и враги берутся из пулов при создании
+ * уровня и возвращаются туда, когда их собрали или когда уровень сменился,
+ * поэтому следующий уровень собирается из тех же экземпляров
+ * (вместе с их компонентами) и не оставляет мусора.
+ */
+public class GameObjectPools {
+    private final Pool<Coin> coins = new Pool<Coin>() {
+        @Override
+        protected Coin newObject() {
+            return new Coin();
+        }
+    };
+    private final Pool<Ore> ores = new Pool<Ore>() {
+        @Override
+        protected Ore newObject() {
+            return new Ore();
+        }
+    };
+    private final Pool<Box> boxes = new Pool<Box>() {
+        @Override
+        protected Box newObject() {
+            return new Box();
+        }
+    };
+    private final Pool<Chest> chests = new Pool<Chest>() {
+        @Override
+        protected Chest newObject() {
+            return new Chest();
+        }
+    };
+    private final Pool<SecretDoor> doors = new Pool<SecretDoor>() {
+        @Override
+        protected SecretDoor newObject() {
+            return new SecretDoor();
+        }
+    };
+    private final Pool<Enemy> enemies = new Pool<Enemy>() {
+        @Override
+        protected Enemy newObject() {
+            return new Enemy();
+        }
+    };
+
+    // Пул по классу объекта для возврата без проверок типа
+    private final ObjectMap<Class<?>, Pool<? extends GameObject>> poolsByType = new ObjectMap<>();
+
+    public GameObjectPools() {
+        poolsByType.put(Coin.class, coins);
+        poolsByType.put(Ore.class, ores);
+        poolsByType.put(Box.class, boxes);
+        poolsByType.put(Chest.class, chests);
+        poolsByType.put(SecretDoor.class, doors);
+        poolsByType.put(Enemy.class, enemies);
+    }
+
+    public Coin obtainCoin() {
+        return coins.obtain();
+    }
+
+    public Ore obtainOre() {
+        return ores.obtain();
+    }
+
+    public Box obtainBox() {
+        return boxes.obtain();
+    }
+
+    public Chest obtainChest() {
+        return chests.obtain();
+    }
+
+    public SecretDoor obtainDoor() {
+        return doors.obtain();
+    }
+
+    public Enemy obtainEnemy() {
+        return enemies.obtain();
+    }
+
+    /**
+     * Возврат объекта в пул его типа; объект сбрасывается (reset).
+     * @param object Объект, удаленный с уровня и из движка
+     */
+    @SuppressWarnings("unchecked")
+    public void free(GameObject object) {
+        Pool<GameObject> pool = (Pool<GameObject>) poolsByType.get(object.getClass());
+        pool.free(object);
+    }
+}
@@ -0,0 +1,716 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import shaporenkoAndrew.com.assets.AssetRegistry;
+import shaporenkoAndrew.com.assets.AssetScope;
+import shaporenkoAndrew.com.assets.GameAtlas;
+import shaporenkoAndrew.com.components.DoorComponent;
+import shaporenkoAndrew.com.components.Mappers;
+import shaporenkoAndrew.com.gameObjects.*;
+import shaporenkoAndrew.com.input.InputSource;
+import shaporenkoAndrew.com.profiling.EventRecorder;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+import shaporenkoAndrew.com.profiling.GameEvents;
+import shaporenkoAndrew.com.systems.AiSystem;
+import shaporenkoAndrew.com.systems.CollisionSystem;
+import shaporenkoAndrew.com.systems.PlayerSystem;
+
+/**
+ * Игровой мир: состояние и логика одной игры без отрисовки.
+ * Функционал:
+ * - Фоновая генерация и смена уровней
+ * - Обновление игрока, врагов и объектов системами Ashley (см. пакет systems)
+ * - Сбор монет, переход между уровнями, победа и поражение
+ * Мир не обращается к окну и клавиатуре напрямую: ввод берется из InputSource,
+ * а итоги игры передаются слушателю. Поэтому один и тот же мир работает
+ * и в GameScreen, и в консольном прогоне без графики.
+ */
+public class GameWorld implements Disposable {
+    /** Частота шагов симуляции по умолчанию (шагов в секунду). */
+    public static final float TICK_RATE = 60f;
+
+    /**
+     * Слушатель событий игрового мира.
+     */
+    public interface Listener {
+        /**
+         * Уровень привязан и готов к игре.
+         * @param world Игровой мир
+         */
+        void levelStarted(GameWorld world);
+
+        /**
+         * Игрок погиб.
+         * @param world Игровой мир
+         */
+        void gameOver(GameWorld world);
+
+        /**
+         * Игра пройдена.
+         * @param world Игровой мир
+         */
+        void victory(GameWorld world);
+    }
+
+    private final AssetRegistry assets;
+    private final InputSource input;
+    private final Listener listener;
+    private final int levelWidth;
+    private final int levelHeight;
+    private final LevelManager levelManager = new LevelManager();
+
+    // Спрайты: мир держит спрайт игрока, каждый уровень - свои спрайты объектов
+    private final AssetScope worldAssets;
+    private AssetScope levelAssets;
+    private final TextureRegion playerTexture;
+
+    // Слои текущего уровня
+    private LevelGenerator levelGenerator;
+    private TileGrid tileGrid;
+    private TileCollider tileCollider;
+    private LineOfSight lineOfSight;
+    private FlowField flowField;
+    private RoomPathfinder roomPathfinder;
+    // Объекты уровня берутся из пулов и возвращаются в них при удалении и смене уровня
+    private final GameObjectPools pools = new GameObjectPools();
+    private final ObjectStore objects = new ObjectStore();
+    private SpatialGrid objectIndex;
+    private final Array<GameObject> queryResults = new Array<>();
+    // Сущности уровня и системы шага: игрок, поведение врагов, столкновения
+    private final Engine engine = new Engine();
+    // Структурные изменения, записанные во время шага; применяются в конце шага
+    private final WorldCommands commands = new WorldCommands();
+    private final Rectangle spawnArea = new Rectangle();
+    private final Vector2 spawnPosition = new Vector2();
+    // Игрок создается на первом уровне и переиспользуется на следующих
+    private Player player;
+    // Орда врагов в примитивных массивах; только в режиме орды, одна на все уровни
+    private EnemyHorde horde;
+    private int hordeSize = 0;
+    private int hordeThreads = 0;
+
+    private int totalCoins;
+    private int collectedCoins;
+    private boolean finished = false;
+
+    // Фоновая генерация уровней: данные следующего уровня готовятся заранее,
+    // а в потоке обновления остается только создание объектов
+    private final AsyncExecutor levelExecutor = new AsyncExecutor(1, "LevelGenerator");
+    private AsyncResult<LevelGenerator> pendingLevel;
+    // Поиск пути между комнатами идет в своем потоке, пока кадр отрисовывается
+    private final AsyncExecutor pathExecutor = new AsyncExecutor(1, "RoomPathfinder");
+    private boolean levelTransitionRequested = false;
+    // Событие перехода на уровень: от запроса до привязки уровня (см. EventRecorder)
+    private Object transitionEvent;
+
+    // Зерна уровней выводятся из зерна игры, поэтому вся игра воспроизводима
+    private final long gameSeed;
+    private final RandomXS128 levelSeeds;
+
+    // Замер фаз шага; по умолчанию выключен и ничего не стоит
+    private FrameProfiler profiler = new FrameProfiler();
+
+    /**
+     * Создание мира и запуск фоновой генерации первого уровня.
+     * @param assets Реестр спрайтов
+     * @param input Источник ввода игрока
+     * @param levelWidth Ширина уровня в пикселях
+     * @param levelHeight Высота уровня в пикселях
+     * @param seed Зерно игры
+     * @param listener Слушатель событий мира
+     */
+    public GameWorld(AssetRegistry assets, InputSource input, int levelWidth, int levelHeight,
+                     long seed, Listener listener) {
+        this.assets = assets;
+        this.input = input;
+        this.levelWidth = levelWidth;
+        this.levelHeight = levelHeight;
+        this.listener = listener;
+        this.gameSeed = seed;
+        this.levelSeeds = new RandomXS128(seed);
+
+        worldAssets = new AssetScope(assets);
+        playerTexture = worldAssets.region(GameAtlas.PLAYER);
+
+        engine.addSystem(new PlayerSystem(this));
+        engine.addSystem(new AiSystem(this));
+        engine.addSystem(new CollisionSystem(this));
+
+        transitionEvent = GameEvents.get().beginLevelTransition();
+        pendingLevel = submitLevel();
+    }
+
+    /**
+     * Запуск генерации уровня в фоновом потоке.
+     * @return Результат, который будет готов по окончании генерации
+     */
+    private AsyncResult<LevelGenerator> submitLevel() {
+        return levelExecutor.submit(levelManager.generateLevelTask(levelWidth, levelHeight, levelSeeds.nextLong()));
+    }
+
+    /**
+     * Проверка готовности уровня без ожидания.
+     * Если фоновая генерация первого или следующего уровня завершена,
+     * уровень привязывается.
+     * @return true если уровень готов к обновлению
+     */
+    public boolean pollLevel() {
+        if (player == null || levelTransitionRequested) {
+            if (pendingLevel == null || !pendingLevel.isDone()) {
+                return false;
+            }
+            bindPendingLevel();
+        }
+        return true;
+    }
+
+    /**
+     * Ожидание фоновой генерации и привязка уровня, если он нужен.
+     * Используется там, где кадр не нужно держать отзывчивым (консольный прогон).
+     */
+    public void finishLoading() {
+        if ((player == null || levelTransitionRequested) && pendingLevel != null) {
+            bindPendingLevel();
+        }
+    }
+
+    /**
+     * Привязка сгенерированного уровня.
+     * Создает объекты и индекс по готовым данным, размещает игрока и врагов.
+     * Объекты прошлого уровня возвращаются в пулы, а игрок, индекс, орда
+     * и поиск пути переиспользуются, поэтому смена уровня не оставляет мусора
+     * (кроме данных генератора, которые готовятся в фоне).
+     * Спрайты прошлого уровня возвращаются в реестр только после того,
+     * как новый уровень взял свои, поэтому общие спрайты не перезагружаются.
+     * @param generator Генератор с готовыми данными уровня
+     */
+    private void startLevel(LevelGenerator generator) {
+        levelGenerator = generator;
+        AssetScope previousAssets = levelAssets;
+        levelAssets = new AssetScope(assets);
+        EventRecorder events = GameEvents.get();
+        Object creationEvent = events.beginLevelPhase();
+
+        // Объекты прошлого уровня уходят из движка и возвращаются в пулы
+        // до создания новых; игрок остается в движке
+        releaseObjects();
+
+        // Создание объектов уровня, на последнем уровне двери нет
+        levelGenerator.createGameObjects(
+            objects,
+            pools,
+            levelAssets,
+            !levelManager.hasNextLevel()
+        );
+
+        TileGrid previousGrid = tileGrid;
+        tileGrid = levelGenerator.getTileGrid();
+        tileCollider = levelGenerator.getTileCollider();
+        lineOfSight = levelGenerator.getLineOfSight();
+        flowField = levelGenerator.getFlowField();
+        if (roomPathfinder == null) {
+            roomPathfinder = new RoomPathfinder(levelGenerator.getRoomGraph());
+            roomPathfinder.start(pathExecutor);
+        } else {
+            roomPathfinder.reset(levelGenerator.getRoomGraph());
+        }
+        if (objectIndex == null || previousGrid.getWidth() != tileGrid.getWidth()
+            || previousGrid.getHeight() != tileGrid.getHeight()) {
+            objectIndex = createObjectIndex(tileGrid);
+        } else {
+            objectIndex.clear();
+        }
+        indexObjects(0);
+        totalCoins = levelGenerator.getTotalCoins();
+        collectedCoins = 0;
+
+        // Размещение игрока в безопасной позиции
+        Rectangle startRoom = levelGenerator.getRandomRoom();
+        findSafePosition(startRoom, spawnPosition);
+        if (player == null) {
+            player = new Player(spawnPosition.x, spawnPosition.y, playerTexture, this);
+            engine.addEntity(player);
+        } else {
+            player.restart(spawnPosition.x, spawnPosition.y);
+        }
+
+        // Создание врагов после создания игрока
+        levelGenerator.setEnemySpawnRate(2f); // Устанавливаем коэффициент спавна врагов
+        int firstEnemy = objects.size();
+        levelGenerator.createEnemies(objects, pools, levelAssets, player, this);
+        indexObjects(firstEnemy);
+        if (hordeSize > 0) {
+            if (horde == null) {
+                int threads = hordeThreads > 0 ? hordeThreads : Runtime.getRuntime().availableProcessors();
+                horde = new EnemyHorde(hordeSize, tileCollider, lineOfSight, flowField, player, threads);
+            } else {
+                horde.reset(tileCollider, lineOfSight, flowField);
+            }
+            levelGenerator.createHorde(horde, hordeSize, player);
+        }
+        events.endLevelPhase(creationEvent, "objects", tileGrid.getWidth(), tileGrid.getHeight(),
+                             levelGenerator.getSeed(), objects.size());
+
+        if (previousAssets != null) {
+            previousAssets.dispose();
+        }
+    }
+
+    /**
+     * Удаление всех объектов уровня из движка и возврат их в пулы.
+     * Вызывается вне шага движка, поэтому сущности удаляются сразу.
+     */
+    private void releaseObjects() {
+        commands.discard(pools);
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject obj = objects.get(i);
+            engine.removeEntity(obj);
+            pools.free(obj);
+        }
+        objects.clear();
+    }
+
+    /**
+     * Привязка уровня, сгенерированного в фоне.
+     * Для первого уровня создает игрока, при переходе переносит его состояние.
+     */
+    private void bindPendingLevel() {
+        LevelGenerator generator = pendingLevel.get();
+        pendingLevel = null;
+        boolean firstLevel = player == null;
+        int previousLevel = firstLevel ? 0 : levelManager.getCurrentLevel();
+
+        if (firstLevel) {
+            startLevel(generator);
+        } else {
+            levelManager.nextLevel();
+            levelTransitionRequested = false;
+
+            // Сохраняем состояние игрока
+            float playerHealth = player.getHealth();
+            float playerStamina = player.getStamina();
+            int playerOre = player.getOreCount();
+            int playerCoins = player.getCoins();
+
+            // Заменяем текущий уровень подготовленным
+            startLevel(generator);
+
+            // Восстанавливаем состояние игрока
+            player.heal(playerHealth - player.getHealth());
+            player.setStamina(playerStamina);
+            player.setOreCount(playerOre);
+            player.setCoins(playerCoins);
+        }
+
+        // Подготавливаем следующий уровень
+        if (levelManager.hasNextLevel()) {
+            pendingLevel = submitLevel();
+        }
+
+        listener.levelStarted(this);
+        GameEvents.get().endLevelTransition(transitionEvent, previousLevel, levelManager.getCurrentLevel());
+        transitionEvent = null;
+    }
+
+    /**
+     * Создание пустого пространственного индекса по размерам уровня.
+     * @param grid Тайловая сетка уровня
+     * @return Новый индекс
+     */
+    private SpatialGrid createObjectIndex(TileGrid grid) {
+        return new SpatialGrid(grid.getWidth() * TileGrid.TILE_SIZE, grid.getHeight() * TileGrid.TILE_SIZE);
+    }
+
+    /**
+     * Добавление объектов уровня в пространственный индекс и движок сущностей.
+     * @param fromSlot Слот первого добавляемого объекта
+     */
+    private void indexObjects(int fromSlot) {
+        for (int i = fromSlot; i < objects.size(); i++) {
+            objectIndex.insert(objects.get(i));
+            engine.addEntity(objects.get(i));
+        }
+    }
+
+    /**
+     * Проверка, свободна ли область от стен и препятствий (ящики, руда).
+     * @param x X-координата области
+     * @param y Y-координата области
+     * @param width Ширина области
+     * @param height Высота области
+     * @return true если область свободна
+     */
+    public boolean isPositionSafe(float x, float y, float width, float height) {
+        // Проверяем коллизии со стенами
+        if (tileCollider.overlapsSolid(x, y, width, height)) {
+            return false;
+        }
+
+        spawnArea.set(x, y, width, height);
+
+        // Проверяем коллизии с ближайшими объектами
+        queryResults.clear();
+        objectIndex.queryRect(spawnArea, queryResults);
+        for (int i = 0; i < queryResults.size; i++) {
+            if (Mappers.SOLID.has(queryResults.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Поиск свободной позиции для игрока в комнате: центр комнаты
+     * или ближайшая к нему свободная точка.
+     * @param room Комната в тайлах
+     * @param out Вектор для результата
+     * @return Вектор out с позицией в пикселях
+     */
+    public Vector2 findSafePosition(Rectangle room, Vector2 out) {
+        float tileSize = 32;
+
+        // Вычисляем центр комнаты
+        float centerX = (room.x + room.width / 2) * tileSize;
+        float centerY = (room.y + room.height / 2) * tileSize;
+
+        // Проверяем центр комнаты
+        if (isPositionSafe(centerX, centerY, tileSize, tileSize)) {
+            return out.set(centerX, centerY);
+        }
+
+        // Если центр не подходит, ищем ближайшую безопасную позицию
+        float radius = 1;
+        float maxRadius = Math.min(room.width, room.height) * tileSize / 2;
+
+        while (radius < maxRadius) {
+            for (float angle = 0; angle < 360; angle += 45) {
+                float x = centerX + radius * (float)Math.cos(Math.toRadians(angle));
+                float y = centerY + radius * (float)Math.sin(Math.toRadians(angle));
+
+                if (x >= room.x * tileSize && x < (room.x + room.width) * tileSize &&
+                    y >= room.y * tileSize && y < (room.y + room.height) * tileSize &&
+                    isPositionSafe(x, y, tileSize, tileSize)) {
+                    return out.set(x, y);
+                }
+            }
+            radius += tileSize / 2;
+        }
+
+        // Если безопасное место не найдено, возвращаем центр комнаты
+        return out.set(centerX, centerY);
+    }
+
+    /**
+     * Выбор руды под указателем как цели добычи.
+     * @param worldX X-координата указателя в мире
+     * @param worldY Y-координата указателя в мире
+     */
+    public void updateTarget(float worldX, float worldY) {
+        // Поиск только по набору руды, а не по всем объектам под указателем
+        GameObject ore = objects.findAt(ObjectStore.ORES, worldX, worldY);
+        if (ore != null) {
+            player.setTargetOre((Ore)ore);
+        } else {
+            player.clearTargetOre();
+        }
+    }
+
+    /**
+     * Один шаг симуляции фиксированной длины.
+     * Вызывается только когда уровень готов (см. pollLevel).
+     * @param delta Длина шага
+     */
+    public void update(float delta) {
+        if (finished) return;
+
+        // Игрок, враги и столкновения - системы движка в порядке приоритета
+        engine.update(delta);
+
+        // Точка синхронизации: появления, удаления и переход на уровень,
+        // записанные во время шага, применяются одним пакетом
+        commands.apply(this);
+    }
+
+    /**
+     * Запрос перехода на следующий уровень.
+     * Запрос применяется в конце шага (см. WorldCommands), а сам переход -
+     * в начале следующего шага, когда фоновая генерация уровня завершена,
+     * чтобы не менять слои во время обновления объектов.
+     * Можно вызывать из любого потока.
+     */
+    public void nextLevel() {
+        commands.nextLevel();
+    }
+
+    /**
+     * Применение запроса перехода (только в точке синхронизации).
+     */
+    void applyNextLevel() {
+        if (levelManager.hasNextLevel()) {
+            if (!levelTransitionRequested) {
+                transitionEvent = GameEvents.get().beginLevelTransition();
+            }
+            levelTransitionRequested = true;
+        } else {
+            victory();
+        }
+    }
+
+    public void coinCollected() {
+        collectedCoins++;
+
+        // Проверяем все двери на уровне и открываем их, если собраны все монеты
+        for (int i = 0; i < objects.size(ObjectStore.DOORS); i++) {
+            GameObject door = objects.get(ObjectStore.DOORS, i);
+            openDoor(Mappers.DOOR.get(door), door);
+        }
+
+        // Проверяем условие победы на последнем уровне
+        if (levelManager.getCurrentLevel() == levelManager.getTotalLevels() &&
+            collectedCoins == totalCoins) {
+            victory();
+        }
+    }
+
+    /**
+     * Открытие двери, если собрано достаточно монет.
+     * @param door Компонент двери
+     * @param entity Сущность двери
+     */
+    public void openDoor(DoorComponent door, Entity entity) {
+        if (!door.open && collectedCoins >= door.requiredCoins) {
+            door.open = true;
+            Mappers.SPRITE.get(entity).region = door.openRegion;
+        }
+    }
+
+    /**
+     * Появление объекта на уровне.
+     * Объект добавляется в хранилище, индекс и движок в конце шага.
+     * Можно вызывать из любого потока.
+     * @param obj Объект из пула уровня (см. GameObjectPools), уже размещенный через init
+     */
+    public void spawnObject(GameObject obj) {
+        commands.spawn(obj);
+    }
+
+    /**
+     * Удаление объекта с уровня.
+     * Объект уходит из хранилища, индекса и движка и возвращается в пул
+     * в конце шага, поэтому до конца шага системы видят его на месте.
+     * Повторное удаление того же объекта игнорируется.
+     * Можно вызывать из любого потока.
+     * @param obj Игровой объект
+     */
+    public void removeObject(GameObject obj) {
+        commands.despawn(obj);
+    }
+
+    /**
+     * Применение появления объекта (только в точке синхронизации).
+     * Вне шага движок добавляет сущность сразу, без своей очереди операций.
+     * @param obj Игровой объект
+     */
+    void applySpawn(GameObject obj) {
+        objects.add(obj);
+        objectIndex.insert(obj);
+        engine.addEntity(obj);
+    }
+
+    /**
+     * Применение удаления объекта (только в точке синхронизации).
+     * Вне шага движок удаляет сущность сразу, после этого объект можно вернуть в пул.
+     * @param obj Игровой объект
+     */
+    void applyDespawn(GameObject obj) {
+        if (objects.remove(obj)) {
+            objectIndex.remove(obj);
+            engine.removeEntity(obj);
+            pools.free(obj);
+        }
+    }
+
+    /**
+     * Обработка поражения игрока.
+     * Сообщает слушателю один раз.
+     */
+    public void gameOver() {
+        if (finished) return;
+        finished = true;
+        player.setDead(true);
+        listener.gameOver(this);
+    }
+
+    private void victory() {
+        if (finished) return;
+        finished = true;
+        listener.victory(this);
+    }
+
+    public LevelGenerator getLevelGenerator() {
+        return levelGenerator;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public InputSource getInput() {
+        return input;
+    }
+
+    public TileGrid getTileGrid() {
+        return tileGrid;
+    }
+
+    public TileCollider getTileCollider() {
+        return tileCollider;
+    }
+
+    public LineOfSight getLineOfSight() {
+        return lineOfSight;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    public RoomPathfinder getRoomPathfinder() {
+        return roomPathfinder;
+    }
+
+    public SpatialGrid getObjectIndex() {
+        return objectIndex;
+    }
+
+    /**
+     * Получение орды врагов текущего уровня.
+     * @return Орда или null, если режим орды выключен
+     */
+    public EnemyHorde getHorde() {
+        return horde;
+    }
+
+    /**
+     * Получение движка сущностей мира.
+     * Системы отрисовки экрана добавляются в этот же движок.
+     * @return Движок Ashley
+     */
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Получение объектов текущего уровня (без игрока).
+     * @return Объекты уровня
+     */
+    public ObjectStore getObjects() {
+        return objects;
+    }
+
+    public int getTotalCoins() {
+        return totalCoins;
+    }
+
+    public int getCollectedCoins() {
+        return collectedCoins;
+    }
+
+    public int getCurrentLevel() {
+        return levelManager.getCurrentLevel();
+    }
+
+    public int getTotalLevels() {
+        return levelManager.getTotalLevels();
+    }
+
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+     * Проверка завершения игры (победа или поражение).
+     * @return true если игра окончена
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Включение режима орды: на каждом следующем уровне, кроме обычных врагов,
+     * появляется орда заданного размера (см. EnemyHorde).
+     * Вызывается до привязки первого уровня.
+     * @param hordeSize Количество врагов орды (0 - режим выключен)
+     */
+    public void setHordeSize(int hordeSize) {
+        this.hordeSize = hordeSize;
+    }
+
+    /**
+     * Количество потоков пула орды вместо числа процессоров.
+     * Вызывается до привязки первого уровня.
+     * @param hordeThreads Количество потоков (0 - по числу процессоров)
+     */
+    public void setHordeThreads(int hordeThreads) {
+        this.hordeThreads = hordeThreads;
+    }
+
+    /**
+     * Подключение профилировщика фаз шага (обновление игрока, объектов, коллизии).
+     * @param profiler Профилировщик кадра
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Освобождение мира: ожидание фоновой генерации, остановка поиска пути,
+     * очистка объектов и возврат спрайтов в реестр.
+     */
+    @Override
+    public void dispose() {
+        // Дожидаемся фоновой генерации, если она еще идет
+        levelExecutor.dispose();
+        pendingLevel = null;
+        if (roomPathfinder != null) {
+            roomPathfinder.stop();
+        }
+        pathExecutor.dispose();
+        if (horde != null) {
+            horde.dispose();
+            horde = null;
+        }
+
+        for (int i = 0; i < objects.size(); i++) {
+            try {
+                objects.get(i).dispose();
+            } catch (Exception e) {
+                Gdx.app.error("GameWorld", "Error disposing game object", e);
+            }
+        }
+        objects.clear();
+        commands.discard(pools);
+        engine.removeAllEntities();
+
+        if (levelAssets != null) {
+            levelAssets.dispose();
+            levelAssets = null;
+        }
+        worldAssets.dispose();
+    }
+}
@@ -1,12 +1,16 @@
 package shaporenkoAndrew.com.world;
 
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import shaporenkoAndrew.com.assets.AssetScope;
+import shaporenkoAndrew.com.assets.GameAtlas;
 import shaporenkoAndrew.com.gameObjects.*;
-import com.badlogic.gdx.graphics.Texture;
-import shaporenkoAndrew.com.screens.GameScreen;
+import shaporenkoAndrew.com.profiling.EventRecorder;
+import shaporenkoAndrew.com.profiling.GameEvents;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * Класс, отвечающий за процедурную генерацию уровней игры.
@@ -15,10 +19,18 @@ import shaporenkoAndrew.com.screens.GameScreen;
  * - Размещение игровых объектов (монеты, сундуки, враги)
  * - Генерация безопасных путей для прохождения
  * - Создание секретных комнат и проходов
+ * Генерация идет в два этапа:
+ * - Этап данных (конструктор): карта, тайловая сетка и план объектов.
+ *   Не обращается к OpenGL, поэтому выполняется в фоновом потоке
+ * - Этап привязки (createGameObjects, createEnemies): создание объектов
+ *   по плану со спрайтами уровня. Выполняется в потоке отрисовки и занимает мало времени
+ * Все случайные решения берутся из собственных потоков RandomXS128, полученных из зерна,
+ * поэтому одинаковые зерно и параметры дают побитово одинаковый levelData,
+ * а несколько генераторов могут безопасно работать параллельно.
  */
 public class LevelGenerator {
     // Константы размеров и параметров генерации
-    private static final int TILE_SIZE = 32;
+    private static final int TILE_SIZE = TileGrid.TILE_SIZE;
     private final int levelWidth;
     private final int levelHeight;
     private final int[][] levelData; // 0 - пустота, 1 - стена, 2 - руда, 3 - сундук, 4 - монета, 5 - потайная дверь
@@ -32,10 +44,48 @@ public class LevelGenerator {
     private int requiredCoins = 0;
     private Rectangle secretRoom;
     private float enemySpawnRate = 1.0f;
+    private TileGrid tileGrid;
+    private TileCollider tileCollider;
+    private LineOfSight lineOfSight;
+    private FlowField flowField;
+    private RoomGraph roomGraph;
+    // Тайлы поворота коридоров: коридор i соединяет комнаты i и i + 1
+    private final IntArray corridorBends = new IntArray();
+
+    // Независимые потоки случайных чисел для этапов генерации: изменение
+    // одного этапа не сдвигает последовательности остальных
+    private final long seed;
+    private final RandomXS128 roomRandom;
+    private final RandomXS128 corridorRandom;
+    private final RandomXS128 populationRandom;
+    private final RandomXS128 enemyRandom;
+
+    // Тип запланированного ящика (остальные типы совпадают с кодами levelData)
+    private static final int SPAWN_BOX = 6;
+    private final Array<Spawn> spawns = new Array<>();
+
+    /**
+     * Объект, запланированный на этапе данных.
+     * Хранит только тип, позицию и параметры, без текстур.
+     */
+    private static class Spawn {
+        final int type;
+        final float x;
+        final float y;
+        final int value; // монеты руды или сундука, 1 для составного ящика
+
+        Spawn(int type, float x, float y, int value) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.value = value;
+        }
+    }
 
     /**
      * Конструктор генератора уровней.
-     * Инициализирует все параметры генерации и запускает процесс создания уровня.
+     * Инициализирует все параметры генерации и запускает этап данных.
+     * Может вызываться из фонового потока.
      * @param width Ширина уровня в пикселях
      * @param height Высота уровня в пикселях
      * @param minRooms Минимальное количество комнат
@@ -44,9 +94,10 @@ public class LevelGenerator {
      * @param maxRoomSize Максимальный размер комнаты
      * @param corridorWidth Ширина коридоров
      * @param maxCoins Максимальное количество монет на уровне
+     * @param seed Зерно генерации
      */
     public LevelGenerator(int width, int height, int minRooms, int maxRooms,
-                         int minRoomSize, int maxRoomSize, int corridorWidth, int maxCoins) {
+                         int minRoomSize, int maxRoomSize, int corridorWidth, int maxCoins, long seed) {
         this.levelWidth = width / TILE_SIZE;
         this.levelHeight = height / TILE_SIZE;
         this.levelData = new int[levelWidth][levelHeight];
@@ -56,6 +107,14 @@ public class LevelGenerator {
         this.maxRooms = maxRooms;
         this.corridorWidth = corridorWidth;
         this.maxCoins = maxCoins;
+
+        // Зерна потоков берутся из главного генератора в фиксированном порядке
+        this.seed = seed;
+        RandomXS128 seeds = new RandomXS128(seed);
+        this.roomRandom = new RandomXS128(seeds.nextLong());
+        this.corridorRandom = new RandomXS128(seeds.nextLong());
+        this.populationRandom = new RandomXS128(seeds.nextLong());
+        this.enemyRandom = new RandomXS128(seeds.nextLong());
         generateLevel();
     }
 
@@ -66,6 +125,7 @@ public class LevelGenerator {
      * 2. Генерация комнат
      * 3. Соединение комнат коридорами
      * 4. Размещение объектов
+     * 5. Планирование игровых объектов и ящиков
      */
     private void generateLevel() {
         // Заполняем всё стенами
@@ -74,9 +134,32 @@ public class LevelGenerator {
                 levelData[x][y] = 1;
             }
         }
+        // Этапы генерации записываются отдельными событиями (см. EventRecorder)
+        EventRecorder events = GameEvents.get();
+        Object event = events.beginLevelPhase();
         generateRooms();
+        events.endLevelPhase(event, "rooms", levelWidth, levelHeight, seed, rooms.size);
+
+        event = events.beginLevelPhase();
         connectRooms();
+        events.endLevelPhase(event, "corridors", levelWidth, levelHeight, seed, Math.max(0, rooms.size - 1));
+
+        event = events.beginLevelPhase();
         populateRooms();
+        planObjects();
+        planBoxes();
+        events.endLevelPhase(event, "population", levelWidth, levelHeight, seed, spawns.size);
+
+        tileGrid = new TileGrid(levelData);
+        tileCollider = new TileCollider(tileGrid);
+        lineOfSight = new LineOfSight(tileGrid);
+        flowField = new FlowField(tileGrid);
+
+        // Граф комнат сохраняется для поиска пути врагов
+        roomGraph = new RoomGraph(tileGrid, rooms);
+        for (int i = 0; i < rooms.size - 1; i++) {
+            roomGraph.connect(i, i + 1, corridorBends.get(i * 2), corridorBends.get(i * 2 + 1));
+        }
     }
 
     /**
@@ -87,10 +170,10 @@ public class LevelGenerator {
     private void generateRooms() {
         int attempts = 0;
         while (rooms.size < maxRooms && attempts < 100) {
-            int roomWidth = MathUtils.random(minRoomSize, maxRoomSize);
-            int roomHeight = MathUtils.random(minRoomSize, maxRoomSize);
-            int x = MathUtils.random(1, levelWidth - roomWidth - 1);
-            int y = MathUtils.random(1, levelHeight - roomHeight - 1);
+            int roomWidth = random(roomRandom, minRoomSize, maxRoomSize);
+            int roomHeight = random(roomRandom, minRoomSize, maxRoomSize);
+            int x = random(roomRandom, 1, levelWidth - roomWidth - 1);
+            int y = random(roomRandom, 1, levelHeight - roomHeight - 1);
 
             Rectangle newRoom = new Rectangle(x, y, roomWidth, roomHeight);
             boolean overlaps = false;
@@ -106,7 +189,7 @@ public class LevelGenerator {
                 carveRoom(newRoom);
                 rooms.add(newRoom);
 
-                if (rooms.size > 1 && (secretRoom == null || MathUtils.random() < 0.2f)) {
+                if (rooms.size > 1 && (secretRoom == null || roomRandom.nextFloat() < 0.2f)) {
                     secretRoom = newRoom;
                 }
             }
@@ -131,6 +214,7 @@ public class LevelGenerator {
      * Соединение комнат коридорами.
      * Создает L-образные коридоры между последовательными комнатами.
      * Случайным образом выбирает, какая часть коридора будет горизонтальной, а какая вертикальной.
+     * Тайл поворота запоминается для графа комнат.
      */
     private void connectRooms() {
         for (int i = 0; i < rooms.size - 1; i++) {
@@ -142,12 +226,14 @@ public class LevelGenerator {
             int x2 = (int)(roomB.x + roomB.width / 2);
             int y2 = (int)(roomB.y + roomB.height / 2);
 
-            if (MathUtils.randomBoolean()) {
+            if (corridorRandom.nextBoolean()) {
                 carveHorizontalCorridor(x1, x2, y1);
                 carveVerticalCorridor(y1, y2, x2);
+                corridorBends.add(x2, y1);
             } else {
                 carveVerticalCorridor(y1, y2, x1);
                 carveHorizontalCorridor(x1, x2, y2);
+                corridorBends.add(x1, y2);
             }
         }
     }
@@ -207,7 +293,7 @@ public class LevelGenerator {
         }
 
         // Размещение руды
-        int maxOres = MathUtils.random(5, 10);
+        int maxOres = random(populationRandom, 5, 10);
         for (Rectangle room : rooms) {
             if (totalOres >= maxOres) break;
             placeOre(room, maxOres, totalOres);
@@ -236,14 +322,14 @@ public class LevelGenerator {
      * @param chestCount Текущее количество размещенных сундуков
      */
     private void placeChest(Array<Rectangle> availableRooms, int chestCount) {
-        int roomIndex = MathUtils.random(availableRooms.size - 1);
+        int roomIndex = random(populationRandom, 0, availableRooms.size - 1);
         Rectangle room = availableRooms.get(roomIndex);
         availableRooms.removeIndex(roomIndex);
 
         int x, y;
         do {
-            x = (int)MathUtils.random(room.x + 1, room.x + room.width - 2);
-            y = (int)MathUtils.random(room.y + 1, room.y + room.height - 2);
+            x = (int)random(populationRandom, room.x + 1, room.x + room.width - 2);
+            y = (int)random(populationRandom, room.y + 1, room.y + room.height - 2);
         } while (levelData[x][y] != 0);
 
         levelData[x][y] = 3;
@@ -263,8 +349,8 @@ public class LevelGenerator {
         for (int i = 0; i < oreCount; i++) {
             int x, y;
             do {
-                x = (int)MathUtils.random(room.x + 1, room.x + room.width - 2);
-                y = (int)MathUtils.random(room.y + 1, room.y + room.height - 2);
+                x = (int)random(populationRandom, room.x + 1, room.x + room.width - 2);
+                y = (int)random(populationRandom, room.y + 1, room.y + room.height - 2);
             } while (Math.abs(x - centerX) < 3 && Math.abs(y - centerY) < 3 && levelData[x][y] != 0);
 
             if (levelData[x][y] == 0) {
@@ -279,13 +365,13 @@ public class LevelGenerator {
      */
     private void placeCoins(Rectangle room) {
         int remainingCoins = maxCoins - totalCoins;
-        int coinsPerRoom = Math.min(remainingCoins, MathUtils.random(3, 7));
+        int coinsPerRoom = Math.min(remainingCoins, random(populationRandom, 3, 7));
 
         for (int i = 0; i < coinsPerRoom; i++) {
             int x, y;
             do {
-                x = (int)MathUtils.random(room.x + 1, room.x + room.width - 2);
-                y = (int)MathUtils.random(room.y + 1, room.y + room.height - 2);
+                x = (int)random(populationRandom, room.x + 1, room.x + room.width - 2);
+                y = (int)random(populationRandom, room.y + 1, room.y + room.height - 2);
             } while (levelData[x][y] != 0);
 
             if (levelData[x][y] == 0) {
@@ -296,84 +382,44 @@ public class LevelGenerator {
     }
 
     /**
-     * Создание игровых объектов на основе сгенерированных данных.
-     * Преобразует числовые данные уровня в реальные игровые объекты.
-     * @param backgroundLayer Слой фона
-     * @param objectLayer Слой игровых объектов
-     * @param wallLayer Слой стен
-     * @param backgroundTexture Текстура фона
-     * @param wallTexture Текстура стен
-     * @param oreTexture Текстура руды
-     * @param chestTexture Текстура сундука
-     * @param coinTexture Текстура монеты
-     * @param doorTexture Текстура двери
-     * @param boxTexture Текстура ящика
-     * @param stackedBoxTexture Текстура составного ящика
-     * @param skipDoor Флаг пропуска создания двери
+     * Планирование игровых объектов на основе сгенерированных данных.
+     * Случайные параметры (содержимое руды и сундуков) выбираются здесь,
+     * чтобы этап привязки только создавал объекты.
      */
-    public void createGameObjects(
-            Array<GameObject> backgroundLayer,
-            Array<GameObject> objectLayer,
-            Array<GameObject> wallLayer,
-            Texture backgroundTexture,
-            Texture wallTexture,
-            Texture oreTexture,
-            Texture chestTexture,
-            Texture coinTexture,
-            Texture doorTexture,
-            Texture boxTexture,
-            Texture stackedBoxTexture,
-            boolean skipDoor) {
-
-        float tileSize = 32;
-
-        // Создание объектов на основе levelData
+    private void planObjects() {
         for (int x = 0; x < levelWidth; x++) {
             for (int y = 0; y < levelHeight; y++) {
-                float worldX = x * tileSize;
-                float worldY = y * tileSize;
-
-                backgroundLayer.add(new GameObject(worldX, worldY, tileSize, tileSize, backgroundTexture) {});
+                float worldX = x * TILE_SIZE;
+                float worldY = y * TILE_SIZE;
 
                 switch (levelData[x][y]) {
-                    case 1: wallLayer.add(new Wall(worldX, worldY, wallTexture)); break;
-                    case 2: objectLayer.add(new Ore(worldX, worldY, oreTexture, MathUtils.random(5, 15))); break;
-                    case 3: objectLayer.add(new Chest(worldX, worldY, chestTexture, MathUtils.random(10, 50))); break;
-                    case 4: objectLayer.add(new Coin(worldX, worldY, coinTexture)); break;
-                    case 5: if (!skipDoor) {
-                        objectLayer.add(new SecretDoor(worldX, worldY, doorTexture, requiredCoins));
-                    } break;
+                    case 2: spawns.add(new Spawn(2, worldX, worldY, random(populationRandom, 5, 15))); break;
+                    case 3: spawns.add(new Spawn(3, worldX, worldY, random(populationRandom, 10, 50))); break;
+                    case 4: spawns.add(new Spawn(4, worldX, worldY, 0)); break;
+                    case 5: spawns.add(new Spawn(5, worldX, worldY, requiredCoins)); break;
                 }
             }
         }
-
-        // Размещение ящиков
-        placeBoxes(objectLayer, boxTexture, stackedBoxTexture);
     }
 
     /**
-     * Размещение ящиков в комнатах и коридорах.
-     * @param objectLayer Слой игровых объектов
-     * @param boxTexture Текстура обычного ящика
-     * @param stackedBoxTexture Текстура составного ящика
+     * Планирование ящиков в комнатах и коридорах.
      */
-    private void placeBoxes(Array<GameObject> objectLayer, Texture boxTexture, Texture stackedBoxTexture) {
+    private void planBoxes() {
         // Размещение в комнатах
         for (Rectangle room : rooms) {
-            int boxCount = MathUtils.random(1, 3);
+            int boxCount = random(populationRandom, 1, 3);
             for (int i = 0; i < boxCount; i++) {
-                tryPlaceBox(room, objectLayer, boxTexture, stackedBoxTexture);
+                tryPlanBox(room);
             }
         }
 
         // Размещение в коридорах
         for (int x = 0; x < levelWidth; x++) {
             for (int y = 0; y < levelHeight; y++) {
-                if (levelData[x][y] == 0 && levelData[x][y-1] == 1 && MathUtils.randomBoolean(0.1f)) {
-                    boolean isStacked = MathUtils.randomBoolean(0.3f);
-                    objectLayer.add(new Box(x * TILE_SIZE, y * TILE_SIZE,
-                                          isStacked ? stackedBoxTexture : boxTexture,
-                                          isStacked));
+                if (levelData[x][y] == 0 && levelData[x][y-1] == 1 && populationRandom.nextFloat() < 0.1f) {
+                    boolean isStacked = populationRandom.nextFloat() < 0.3f;
+                    spawns.add(new Spawn(SPAWN_BOX, x * TILE_SIZE, y * TILE_SIZE, isStacked ? 1 : 0));
                 }
             }
         }
@@ -382,50 +428,104 @@ public class LevelGenerator {
     /**
      * Попытка размещения ящика в комнате.
      * @param room Комната для размещения
-     * @param objectLayer Слой игровых объектов
-     * @param boxTexture Текстура обычного ящика
-     * @param stackedBoxTexture Текстура составного ящика
      */
-    private void tryPlaceBox(Rectangle room, Array<GameObject> objectLayer, 
-                           Texture boxTexture, Texture stackedBoxTexture) {
+    private void tryPlanBox(Rectangle room) {
         int attempts = 0;
         while (attempts < 10) {
-            int x = (int)MathUtils.random(room.x + 1, room.x + room.width - 2);
-            int y = (int)MathUtils.random(room.y + 1, room.y + room.height - 2);
+            int x = (int)random(populationRandom, room.x + 1, room.x + room.width - 2);
+            int y = (int)random(populationRandom, room.y + 1, room.y + room.height - 2);
 
             if (levelData[x][y] == 0 && levelData[x][y+1] == 0 && levelData[x][y-1] == 1) {
-                boolean isStacked = MathUtils.randomBoolean(0.3f);
-                objectLayer.add(new Box(x * TILE_SIZE, y * TILE_SIZE,
-                                      isStacked ? stackedBoxTexture : boxTexture,
-                                      isStacked));
+                boolean isStacked = populationRandom.nextFloat() < 0.3f;
+                spawns.add(new Spawn(SPAWN_BOX, x * TILE_SIZE, y * TILE_SIZE, isStacked ? 1 : 0));
                 break;
             }
             attempts++;
         }
     }
 
+    /**
+     * Создание игровых объектов по плану этапа данных.
+     * Пол и стены объектами не являются - они хранятся в TileGrid.
+     * Вызывается в потоке отрисовки. Объекты берутся из пулов мира.
+     * @param objects Объекты уровня
+     * @param pools Пулы объектов
+     * @param assets Спрайты уровня, из которых объекты берут текстуры по ключу
+     * @param skipDoor Флаг пропуска создания двери
+     */
+    public void createGameObjects(
+            ObjectStore objects,
+            GameObjectPools pools,
+            AssetScope assets,
+            boolean skipDoor) {
+
+        TextureRegion oreTexture = assets.region(GameAtlas.ORE);
+        TextureRegion chestTexture = assets.region(GameAtlas.CHEST_CLOSED);
+        TextureRegion openChestTexture = assets.region(GameAtlas.CHEST_OPEN);
+        TextureRegion coinTexture = assets.region(GameAtlas.COIN);
+        TextureRegion doorTexture = assets.region(GameAtlas.DOOR_CLOSED);
+        TextureRegion openDoorTexture = assets.region(GameAtlas.DOOR_OPEN);
+        TextureRegion boxTexture = assets.region(GameAtlas.BOX);
+        TextureRegion stackedBoxTexture = assets.region(GameAtlas.BOX_STACKED);
+
+        for (int i = 0; i < spawns.size; i++) {
+            Spawn spawn = spawns.get(i);
+            switch (spawn.type) {
+                case 2: {
+                    Ore ore = pools.obtainOre();
+                    ore.init(spawn.x, spawn.y, oreTexture, spawn.value);
+                    objects.add(ore);
+                } break;
+                case 3: {
+                    Chest chest = pools.obtainChest();
+                    chest.init(spawn.x, spawn.y, chestTexture, openChestTexture, spawn.value,
+                               populationRandom.nextLong());
+                    objects.add(chest);
+                } break;
+                case 4: {
+                    Coin coin = pools.obtainCoin();
+                    coin.init(spawn.x, spawn.y, coinTexture);
+                    objects.add(coin);
+                } break;
+                case 5: if (!skipDoor) {
+                    SecretDoor door = pools.obtainDoor();
+                    door.init(spawn.x, spawn.y, doorTexture, openDoorTexture, spawn.value);
+                    objects.add(door);
+                } break;
+                case SPAWN_BOX: {
+                    boolean isStacked = spawn.value == 1;
+                    Box box = pools.obtainBox();
+                    box.init(spawn.x, spawn.y, isStacked ? stackedBoxTexture : boxTexture, isStacked);
+                    objects.add(box);
+                } break;
+            }
+        }
+    }
+
     /**
      * Создание врагов на уровне.
-     * @param objectLayer Слой игровых объектов
-     * @param wallLayer Слой стен
-     * @param enemyTexture Текстура врага
+     * Вызывается в потоке отрисовки после размещения игрока.
+     * @param objects Объекты уровня
+     * @param pools Пулы объектов
+     * @param assets Спрайты уровня
      * @param player Ссылка на игрока
-     * @param gameScreen Ссылка на игровой экран
+     * @param world Игровой мир
      */
     public void createEnemies(
-            Array<GameObject> objectLayer,
-            Array<GameObject> wallLayer,
-            Texture enemyTexture,
+            ObjectStore objects,
+            GameObjectPools pools,
+            AssetScope assets,
             Player player,
-            GameScreen gameScreen) {
+            GameWorld world) {
+        TextureRegion enemyTexture = assets.region(GameAtlas.ENEMY);
         int maxEnemies = (int)(5 * enemySpawnRate);
         int enemyCount = 0;
         Array<Rectangle> availableRooms = new Array<>(rooms);
         float MIN_DISTANCE_FROM_PLAYER = 1000f;
 
         while (enemyCount < maxEnemies && availableRooms.size > 0) {
-            trySpawnEnemy(availableRooms, objectLayer, wallLayer, enemyTexture, 
-                         player, gameScreen, MIN_DISTANCE_FROM_PLAYER);
+            trySpawnEnemy(availableRooms, objects, pools, enemyTexture,
+                         player, world, MIN_DISTANCE_FROM_PLAYER);
             enemyCount++;
         }
     }
@@ -433,23 +533,23 @@ public class LevelGenerator {
     /**
      * Попытка создания врага в случайной комнате.
      * @param availableRooms Список доступных комнат
-     * @param objectLayer Слой игровых объектов
-     * @param wallLayer Слой стен
+     * @param objects Объекты уровня
+     * @param pools Пулы объектов
      * @param enemyTexture Текстура врага
      * @param player Ссылка на игрока
-     * @param gameScreen Ссылка на игровой экран
+     * @param world Игровой мир
      * @param minDistance Минимальная дистанция от игрока
      */
-    private void trySpawnEnemy(Array<Rectangle> availableRooms, Array<GameObject> objectLayer,
-                             Array<GameObject> wallLayer, Texture enemyTexture,
-                             Player player, GameScreen gameScreen, float minDistance) {
-        int roomIndex = MathUtils.random(availableRooms.size - 1);
+    private void trySpawnEnemy(Array<Rectangle> availableRooms, ObjectStore objects,
+                             GameObjectPools pools, TextureRegion enemyTexture,
+                             Player player, GameWorld world, float minDistance) {
+        int roomIndex = random(enemyRandom, 0, availableRooms.size - 1);
         Rectangle room = availableRooms.get(roomIndex);
         int attempts = 0;
 
         while (attempts < 20) {
-            int x = (int)MathUtils.random(room.x + 1, room.x + room.width - 2);
-            int y = (int)MathUtils.random(room.y + 1, room.y + room.height - 2);
+            int x = (int)random(enemyRandom, room.x + 1, room.x + room.width - 2);
+            int y = (int)random(enemyRandom, room.y + 1, room.y + room.height - 2);
 
             float worldX = x * TILE_SIZE;
             float worldY = y * TILE_SIZE;
@@ -457,7 +557,10 @@ public class LevelGenerator {
             float distanceToPlayer = Vector2.dst(worldX, worldY, player.getX(), player.getY());
 
             if (levelData[x][y] == 0 && distanceToPlayer >= minDistance) {
-                objectLayer.add(new Enemy(worldX, worldY, enemyTexture, player, wallLayer, gameScreen));
+                Enemy enemy = pools.obtainEnemy();
+                enemy.init(worldX, worldY, enemyTexture, player, tileCollider, lineOfSight, flowField,
+                           world.getRoomPathfinder(), world, enemyRandom.nextLong());
+                objects.add(enemy);
                 break;
             }
             attempts++;
@@ -466,12 +569,116 @@ public class LevelGenerator {
         availableRooms.removeIndex(roomIndex);
     }
 
+    /**
+     * Заполнение орды врагами в случайных тайлах пола комнат вдали от игрока.
+     * Вызывается после createEnemies, поэтому обычные враги уровня не меняются.
+     * @param horde Орда врагов
+     * @param count Количество врагов
+     * @param player Ссылка на игрока
+     */
+    public void createHorde(EnemyHorde horde, int count, Player player) {
+        float minDistance = 400f; // дальше радиуса обзора врага
+        int spawned = 0;
+        for (int attempt = 0; attempt < count * 4 && spawned < count; attempt++) {
+            Rectangle room = rooms.get(random(enemyRandom, 0, rooms.size - 1));
+            int x = random(enemyRandom, (int)room.x, (int)(room.x + room.width) - 1);
+            int y = random(enemyRandom, (int)room.y, (int)(room.y + room.height) - 1);
+            float worldX = x * TILE_SIZE;
+            float worldY = y * TILE_SIZE;
+
+            if (levelData[x][y] == 0
+                && Vector2.dst(worldX, worldY, player.getX(), player.getY()) >= minDistance
+                && horde.spawn(worldX, worldY, enemyRandom.nextLong())) {
+                spawned++;
+            }
+        }
+    }
+
     /**
      * Получение случайной комнаты для размещения игрока.
      * @return Случайная комната из списка комнат
      */
     public Rectangle getRandomRoom() {
-        return rooms.get(MathUtils.random(rooms.size - 1));
+        return rooms.get(random(enemyRandom, 0, rooms.size - 1));
+    }
+
+    /**
+     * Случайное целое число в диапазоне (аналог MathUtils.random для заданного потока).
+     * @param random Поток случайных чисел
+     * @param start Нижняя граница (включительно)
+     * @param end Верхняя граница (включительно)
+     * @return Случайное число
+     */
+    private static int random(RandomXS128 random, int start, int end) {
+        return start + random.nextInt(end - start + 1);
+    }
+
+    /**
+     * Случайное дробное число в диапазоне (аналог MathUtils.random для заданного потока).
+     * @param random Поток случайных чисел
+     * @param start Нижняя граница (включительно)
+     * @param end Верхняя граница (не включительно)
+     * @return Случайное число
+     */
+    private static float random(RandomXS128 random, float start, float end) {
+        return start + random.nextFloat() * (end - start);
+    }
+
+    /**
+     * Получение тайловой сетки уровня.
+     * @return Сетка пола и стен
+     */
+    public TileGrid getTileGrid() {
+        return tileGrid;
+    }
+
+    /**
+     * Получение сервиса столкновений со стенами уровня.
+     * @return Сервис столкновений над тайловой сеткой
+     */
+    public TileCollider getTileCollider() {
+        return tileCollider;
+    }
+
+    /**
+     * Получение проверки прямой видимости для уровня.
+     * @return Проверка видимости над тайловой сеткой
+     */
+    public LineOfSight getLineOfSight() {
+        return lineOfSight;
+    }
+
+    /**
+     * Получение поля направлений к игроку для уровня.
+     * @return Поле направлений над тайловой сеткой
+     */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * Получение графа комнат и коридоров уровня.
+     * @return Граф комнат
+     */
+    public RoomGraph getRoomGraph() {
+        return roomGraph;
+    }
+
+    /**
+     * Получение зерна, из которого сгенерирован уровень.
+     * @return Зерно генерации
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Получение сырых данных уровня.
+     * Массив не копируется и не должен изменяться.
+     * @return Данные уровня [x][y]
+     */
+    public int[][] getLevelData() {
+        return levelData;
     }
 
     /**
@@ -1,5 +1,7 @@
 package shaporenkoAndrew.com.world;
 
+import com.badlogic.gdx.utils.async.AsyncTask;
+
 /**
  * Класс для управления уровнями игры.
  * Отвечает за:
@@ -32,18 +34,59 @@ public class LevelManager {
      * Создает новый генератор уровня с параметрами, соответствующими текущему уровню.
      * @param width Ширина уровня в пикселях
      * @param height Высота уровня в пикселях
+     * @param seed Зерно генерации; одинаковое зерно дает одинаковый уровень
      * @return Новый экземпляр LevelGenerator с настроенными параметрами
      */
-    public LevelGenerator generateLevel(int width, int height) {
+    public LevelGenerator generateLevel(int width, int height, long seed) {
+        return createGenerator(currentLevel, width, height, seed);
+    }
+
+    /**
+     * Создает генератор с параметрами заданного набора, независимо от текущего уровня.
+     * Используется в бенчмарках для сравнения наборов параметров.
+     * @param preset Номер набора параметров (от 0 до getPresetCount() - 1)
+     * @param width Ширина уровня в пикселях
+     * @param height Высота уровня в пикселях
+     * @param seed Зерно генерации
+     * @return Новый экземпляр LevelGenerator
+     */
+    public static LevelGenerator generateLevel(int preset, int width, int height, long seed) {
+        return createGenerator(preset, width, height, seed);
+    }
+
+    /**
+     * Получение количества наборов параметров генерации.
+     * @return Количество наборов
+     */
+    public static int getPresetCount() {
+        return MIN_ROOMS.length;
+    }
+
+    /**
+     * Создает задачу генерации уровня для выполнения в фоновом потоке.
+     * Параметры уровня фиксируются в момент вызова, поэтому переход
+     * на следующий уровень во время генерации на задачу не влияет.
+     * @param width Ширина уровня в пикселях
+     * @param height Высота уровня в пикселях
+     * @param seed Зерно генерации
+     * @return Задача, возвращающая генератор с готовыми данными уровня
+     */
+    public AsyncTask<LevelGenerator> generateLevelTask(final int width, final int height, final long seed) {
+        final int level = currentLevel;
+        return () -> createGenerator(level, width, height, seed);
+    }
+
+    private static LevelGenerator createGenerator(int level, int width, int height, long seed) {
         return new LevelGenerator(
             width, 
             height,
-            MIN_ROOMS[currentLevel],
-            MAX_ROOMS[currentLevel],
-            MIN_ROOM_SIZE[currentLevel],
-            MAX_ROOM_SIZE[currentLevel],
-            CORRIDOR_WIDTH[currentLevel],
-            MAX_COINS[currentLevel]
+            MIN_ROOMS[level],
+            MAX_ROOMS[level],
+            MIN_ROOM_SIZE[level],
+            MAX_ROOM_SIZE[level],
+            CORRIDOR_WIDTH[level],
+            MAX_COINS[level],
+            seed
         );
     }
 
@@ -0,0 +1,130 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Проверка прямой видимости по тайловой сетке.
+ * Луч проходит тайлы алгоритмом DDA (Amanatides-Woo) и останавливается
+ * на первой стене, поэтому стоимость пропорциональна длине луча.
+ * Если луч проходит точно через угол, он считается перекрытым,
+ * если хотя бы один из соседних по углу тайлов - стена.
+ * Результаты кэшируются на один тик по паре (тайл наблюдателя, тайл цели).
+ */
+public class LineOfSight {
+    private static final int TILE_SIZE = TileGrid.TILE_SIZE;
+
+    // Емкость с запасом на пары тайлов всех врагов уровня, чтобы кэш не рос во время шага
+    private static final int CACHE_CAPACITY = 512;
+
+    private final TileGrid grid;
+    private final LongMap<Boolean> tickCache = new LongMap<>(CACHE_CAPACITY);
+
+    /**
+     * Конструктор проверки видимости.
+     * @param grid Тайловая сетка уровня
+     */
+    public LineOfSight(TileGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Начало нового тика: сбрасывает кэш результатов.
+     * Вызывается один раз за кадр до обновления врагов.
+     */
+    public void beginTick() {
+        tickCache.clear();
+    }
+
+    /**
+     * Проверка видимости между двумя точками мира.
+     * Луч строится между центрами тайлов, в которых лежат точки,
+     * поэтому результат однозначно определяется парой тайлов и кэшируется.
+     * @param fromX X-координата наблюдателя
+     * @param fromY Y-координата наблюдателя
+     * @param toX X-координата цели
+     * @param toY Y-координата цели
+     * @return true если между тайлами нет стен
+     */
+    public boolean canSee(float fromX, float fromY, float toX, float toY) {
+        int fromTileX = TileGrid.toTile(fromX);
+        int fromTileY = TileGrid.toTile(fromY);
+        int toTileX = TileGrid.toTile(toX);
+        int toTileY = TileGrid.toTile(toY);
+
+        long key = ((long)packTile(fromTileX, fromTileY) << 32) | (packTile(toTileX, toTileY) & 0xFFFFFFFFL);
+        Boolean cached = tickCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean visible = isClear(
+            (fromTileX + 0.5f) * TILE_SIZE, (fromTileY + 0.5f) * TILE_SIZE,
+            (toTileX + 0.5f) * TILE_SIZE, (toTileY + 0.5f) * TILE_SIZE);
+        tickCache.put(key, visible);
+        return visible;
+    }
+
+    /**
+     * Точная трассировка луча между двумя точками мира без кэша.
+     * Начальный тайл не проверяется, конечный - проверяется.
+     * @param fromX X-координата начала луча
+     * @param fromY Y-координата начала луча
+     * @param toX X-координата конца луча
+     * @param toY Y-координата конца луча
+     * @return true если луч не пересекает ни одной стены
+     */
+    public boolean isClear(float fromX, float fromY, float toX, float toY) {
+        int tileX = TileGrid.toTile(fromX);
+        int tileY = TileGrid.toTile(fromY);
+        int endTileX = TileGrid.toTile(toX);
+        int endTileY = TileGrid.toTile(toY);
+
+        float dx = toX - fromX;
+        float dy = toY - fromY;
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+        // Параметр t вдоль луча (0 - начало, 1 - конец), на котором пересекается следующая граница тайла
+        float tMaxX = stepX > 0 ? ((tileX + 1) * TILE_SIZE - fromX) / dx
+                    : stepX < 0 ? (tileX * TILE_SIZE - fromX) / dx
+                    : Float.MAX_VALUE;
+        float tMaxY = stepY > 0 ? ((tileY + 1) * TILE_SIZE - fromY) / dy
+                    : stepY < 0 ? (tileY * TILE_SIZE - fromY) / dy
+                    : Float.MAX_VALUE;
+        float tDeltaX = stepX != 0 ? TILE_SIZE / Math.abs(dx) : Float.MAX_VALUE;
+        float tDeltaY = stepY != 0 ? TILE_SIZE / Math.abs(dy) : Float.MAX_VALUE;
+
+        // Ограничение числа шагов защищает от перескока конечного тайла из-за погрешностей
+        int stepsLeft = Math.abs(endTileX - tileX) + Math.abs(endTileY - tileY);
+        while ((tileX != endTileX || tileY != endTileY) && stepsLeft > 0) {
+            if (tMaxX < tMaxY) {
+                tileX += stepX;
+                tMaxX += tDeltaX;
+                stepsLeft--;
+            } else if (tMaxY < tMaxX) {
+                tileY += stepY;
+                tMaxY += tDeltaY;
+                stepsLeft--;
+            } else {
+                // Луч проходит точно через угол: не пропускаем его сквозь стык двух стен
+                if (grid.isSolid(tileX + stepX, tileY) || grid.isSolid(tileX, tileY + stepY)) {
+                    return false;
+                }
+                tileX += stepX;
+                tileY += stepY;
+                tMaxX += tDeltaX;
+                tMaxY += tDeltaY;
+                stepsLeft -= 2;
+            }
+
+            if (grid.isSolid(tileX, tileY)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int packTile(int tileX, int tileY) {
+        return tileY * grid.getWidth() + tileX;
+    }
+}
@@ -0,0 +1,177 @@
+package shaporenkoAndrew.com.world;
+
+import shaporenkoAndrew.com.components.Mappers;
+import shaporenkoAndrew.com.gameObjects.GameObject;
+
+/**
+ * Объекты уровня в плотном массиве.
+ * Каждый объект знает свой слот (GameObject.getSlot), поэтому удаление
+ * не ищет объект: на его место переносится последний объект массива.
+ * Порядок объектов после удаления меняется, но от него ничего не зависит:
+ * порядок обновления задают системы движка.
+ * Массив растет только при первом заполнении уровня; следующие уровни
+ * того же размера переиспользуют его.
+ * Кроме общего массива, хранилище ведет наборы по типам (двери, руда,
+ * сундуки, монеты, враги, препятствия) с тем же удалением за O(1),
+ * поэтому поиск объектов одного типа проходит только по ним, а не по всему уровню.
+ * Тип объекта определяется по его компонентам при добавлении.
+ */
+public class ObjectStore {
+    // Наборы по типам; объект может входить в несколько (руда - и руда, и препятствие)
+    public static final int DOORS = 0;
+    public static final int ORES = 1;
+    public static final int CHESTS = 2;
+    public static final int COINS = 3;
+    public static final int ENEMIES = 4;
+    public static final int SOLIDS = 5;
+    public static final int TYPE_COUNT = 6;
+
+    private GameObject[] objects = new GameObject[64];
+    private int size = 0;
+
+    private final GameObject[][] typed = new GameObject[TYPE_COUNT][];
+    private final int[] typedSize = new int[TYPE_COUNT];
+
+    public ObjectStore() {
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            typed[type] = new GameObject[16];
+        }
+    }
+
+    /**
+     * Добавление объекта в конец массива и в наборы его типов.
+     * @param object Игровой объект, которого еще нет на уровне
+     */
+    public void add(GameObject object) {
+        if (size == objects.length) {
+            objects = grow(objects);
+        }
+        object.setSlot(size);
+        objects[size++] = object;
+
+        if (Mappers.DOOR.has(object)) addTyped(DOORS, object);
+        if (Mappers.MINEABLE.has(object)) addTyped(ORES, object);
+        if (Mappers.CHEST.has(object)) addTyped(CHESTS, object);
+        if (Mappers.COLLECTIBLE.has(object)) addTyped(COINS, object);
+        if (Mappers.AI.has(object)) addTyped(ENEMIES, object);
+        if (Mappers.SOLID.has(object)) addTyped(SOLIDS, object);
+    }
+
+    /**
+     * Удаление объекта за O(1) из массива и из всех наборов.
+     * Объекты, которых нет на уровне, игнорируются.
+     * @param object Игровой объект
+     * @return true если объект был на уровне
+     */
+    public boolean remove(GameObject object) {
+        int slot = object.getSlot();
+        if (slot < 0 || slot >= size || objects[slot] != object) {
+            return false;
+        }
+        GameObject last = objects[--size];
+        objects[slot] = last;
+        last.setSlot(slot);
+        objects[size] = null;
+        object.setSlot(-1);
+
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            if (object.getTypeSlot(type) >= 0) {
+                removeTyped(type, object);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Получение объекта по слоту.
+     * @param slot Индекс слота (0..size-1)
+     * @return Игровой объект
+     */
+    public GameObject get(int slot) {
+        return objects[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Количество объектов типа.
+     * @param type Тип набора (DOORS, ORES...)
+     * @return Количество объектов в наборе
+     */
+    public int size(int type) {
+        return typedSize[type];
+    }
+
+    /**
+     * Получение объекта типа по индексу в наборе.
+     * Порядок в наборе меняется при удалении, как и в общем массиве.
+     * @param type Тип набора
+     * @param index Индекс в наборе (0..size(type)-1)
+     * @return Игровой объект
+     */
+    public GameObject get(int type, int index) {
+        return typed[type][index];
+    }
+
+    /**
+     * Поиск объекта типа, содержащего точку; проходит только по набору типа.
+     * @param type Тип набора
+     * @param x X-координата точки
+     * @param y Y-координата точки
+     * @return Первый найденный объект или null
+     */
+    public GameObject findAt(int type, float x, float y) {
+        GameObject[] set = typed[type];
+        for (int i = 0; i < typedSize[type]; i++) {
+            if (set[i].getBounds().contains(x, y)) {
+                return set[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Удаление всех объектов; массивы остаются для следующего уровня.
+     */
+    public void clear() {
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            GameObject[] set = typed[type];
+            for (int i = 0; i < typedSize[type]; i++) {
+                set[i].setTypeSlot(type, -1);
+                set[i] = null;
+            }
+            typedSize[type] = 0;
+        }
+        for (int i = 0; i < size; i++) {
+            objects[i].setSlot(-1);
+            objects[i] = null;
+        }
+        size = 0;
+    }
+
+    private void addTyped(int type, GameObject object) {
+        if (typedSize[type] == typed[type].length) {
+            typed[type] = grow(typed[type]);
+        }
+        object.setTypeSlot(type, typedSize[type]);
+        typed[type][typedSize[type]++] = object;
+    }
+
+    private void removeTyped(int type, GameObject object) {
+        GameObject[] set = typed[type];
+        int slot = object.getTypeSlot(type);
+        GameObject last = set[--typedSize[type]];
+        set[slot] = last;
+        last.setTypeSlot(type, slot);
+        set[typedSize[type]] = null;
+        object.setTypeSlot(type, -1);
+    }
+
+    private static GameObject[] grow(GameObject[] array) {
+        GameObject[] grown = new GameObject[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,224 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Граф комнат уровня - верхний уровень иерархического поиска пути.
+ * Вершины - комнаты, ребра - L-образные коридоры генератора между ними.
+ * Каждый тайл пола относится к ближайшей по проходу комнате (региону),
+ * поэтому комната известна и для точки в коридоре.
+ * Путь по графу раскрывается в точки маршрута: центр комнаты, поворот
+ * коридора, центр следующей комнаты и так далее. Коридор вырезан вдоль
+ * этих отрезков, поэтому движение между точками не упирается в стены.
+ * После генерации граф не меняется, и его можно читать из любого потока.
+ */
+public class RoomGraph {
+    /** Тайл не относится ни к одной комнате (стена или замкнутая область). */
+    public static final int NO_ROOM = -1;
+
+    private final int width;
+    private final int height;
+    private final int roomCount;
+    private final int[] centerX;
+    private final int[] centerY;
+    private final int[] regions;
+
+    // Ребра: комнаты, поворот коридора и длина пути по коридору в тайлах
+    private final IntArray edgeBendX = new IntArray();
+    private final IntArray edgeBendY = new IntArray();
+    private final IntArray edgeCost = new IntArray();
+    private final IntArray[] roomNeighbors;
+    private final IntArray[] roomEdges;
+    private final int[] edgeBetween;
+
+    /**
+     * Создание графа по вырезанным комнатам.
+     * Ребра добавляются отдельно через connect, регионы вычисляются сразу.
+     * @param grid Тайловая сетка уровня с вырезанными комнатами и коридорами
+     * @param rooms Комнаты в тайлах
+     */
+    public RoomGraph(TileGrid grid, Array<Rectangle> rooms) {
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+        this.roomCount = rooms.size;
+        this.centerX = new int[roomCount];
+        this.centerY = new int[roomCount];
+        this.roomNeighbors = new IntArray[roomCount];
+        this.roomEdges = new IntArray[roomCount];
+        this.edgeBetween = new int[roomCount * roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            Rectangle room = rooms.get(i);
+            // Центр считается так же, как при вырезании коридоров
+            centerX[i] = (int)(room.x + room.width / 2);
+            centerY[i] = (int)(room.y + room.height / 2);
+            roomNeighbors[i] = new IntArray();
+            roomEdges[i] = new IntArray();
+        }
+        for (int i = 0; i < edgeBetween.length; i++) {
+            edgeBetween[i] = -1;
+        }
+
+        this.regions = new int[width * height];
+        computeRegions(grid, rooms);
+    }
+
+    /**
+     * Добавление коридора между двумя комнатами.
+     * Вызывается генератором уровня до того, как граф передан игре.
+     * @param roomA Индекс первой комнаты
+     * @param roomB Индекс второй комнаты
+     * @param bendX X-координата тайла поворота коридора
+     * @param bendY Y-координата тайла поворота коридора
+     */
+    public void connect(int roomA, int roomB, int bendX, int bendY) {
+        int edge = edgeCost.size;
+        edgeBendX.add(bendX);
+        edgeBendY.add(bendY);
+        edgeCost.add(Math.abs(centerX[roomA] - centerX[roomB]) + Math.abs(centerY[roomA] - centerY[roomB]));
+
+        roomNeighbors[roomA].add(roomB);
+        roomEdges[roomA].add(edge);
+        roomNeighbors[roomB].add(roomA);
+        roomEdges[roomB].add(edge);
+        edgeBetween[roomA * roomCount + roomB] = edge;
+        edgeBetween[roomB * roomCount + roomA] = edge;
+    }
+
+    /**
+     * Комната, к которой относится тайл.
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     * @return Индекс комнаты или NO_ROOM
+     */
+    public int findRoom(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
+            return NO_ROOM;
+        }
+        return regions[tileY * width + tileX];
+    }
+
+    /**
+     * Комната, к которой относится точка мира.
+     * @param worldX X-координата в пикселях
+     * @param worldY Y-координата в пикселях
+     * @return Индекс комнаты или NO_ROOM
+     */
+    public int findRoomAt(float worldX, float worldY) {
+        return findRoom(TileGrid.toTile(worldX), TileGrid.toTile(worldY));
+    }
+
+    /**
+     * Получение количества комнат.
+     * @return Количество вершин графа
+     */
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * Соседние комнаты, связанные коридором.
+     * @param room Индекс комнаты
+     * @return Индексы соседей (не изменять)
+     */
+    public IntArray getNeighbors(int room) {
+        return roomNeighbors[room];
+    }
+
+    /**
+     * Длина коридора между соседними комнатами.
+     * @param room Индекс комнаты
+     * @param neighbor Порядковый номер соседа в getNeighbors(room)
+     * @return Длина пути от центра до центра в тайлах
+     */
+    public int getNeighborCost(int room, int neighbor) {
+        return edgeCost.get(roomEdges[room].get(neighbor));
+    }
+
+    /**
+     * Оценка расстояния между центрами комнат по прямой.
+     * Не превышает длину любого пути по коридорам, поэтому подходит для A*.
+     * @param roomA Индекс первой комнаты
+     * @param roomB Индекс второй комнаты
+     * @return Расстояние в тайлах
+     */
+    public float estimate(int roomA, int roomB) {
+        int dx = centerX[roomA] - centerX[roomB];
+        int dy = centerY[roomA] - centerY[roomB];
+        return (float)Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public int getCenterX(int room) {
+        return centerX[room];
+    }
+
+    public int getCenterY(int room) {
+        return centerY[room];
+    }
+
+    /**
+     * X-координата тайла поворота коридора между соседними комнатами.
+     * @param roomA Индекс первой комнаты
+     * @param roomB Индекс второй комнаты
+     * @return Тайл поворота
+     */
+    public int getBendX(int roomA, int roomB) {
+        return edgeBendX.get(edgeBetween[roomA * roomCount + roomB]);
+    }
+
+    /**
+     * Y-координата тайла поворота коридора между соседними комнатами.
+     * @param roomA Индекс первой комнаты
+     * @param roomB Индекс второй комнаты
+     * @return Тайл поворота
+     */
+    public int getBendY(int roomA, int roomB) {
+        return edgeBendY.get(edgeBetween[roomA * roomCount + roomB]);
+    }
+
+    // Поиск в ширину сразу от всех комнат: тайл коридора достается ближайшей комнате
+    private void computeRegions(TileGrid grid, Array<Rectangle> rooms) {
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = NO_ROOM;
+        }
+        for (int room = 0; room < roomCount; room++) {
+            Rectangle bounds = rooms.get(room);
+            for (int x = (int)bounds.x; x < bounds.x + bounds.width; x++) {
+                for (int y = (int)bounds.y; y < bounds.y + bounds.height; y++) {
+                    int tile = y * width + x;
+                    if (regions[tile] == NO_ROOM && !grid.isSolid(x, y)) {
+                        regions[tile] = room;
+                        queue[tail++] = tile;
+                    }
+                }
+            }
+        }
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int tileX = tile % width;
+            int tileY = tile / width;
+            tail = visit(grid, tileX + 1, tileY, regions[tile], queue, tail);
+            tail = visit(grid, tileX - 1, tileY, regions[tile], queue, tail);
+            tail = visit(grid, tileX, tileY + 1, regions[tile], queue, tail);
+            tail = visit(grid, tileX, tileY - 1, regions[tile], queue, tail);
+        }
+    }
+
+    private int visit(TileGrid grid, int tileX, int tileY, int room, int[] queue, int tail) {
+        if (grid.isSolid(tileX, tileY)) {
+            return tail;
+        }
+        int tile = tileY * width + tileX;
+        if (regions[tile] != NO_ROOM) {
+            return tail;
+        }
+        regions[tile] = room;
+        queue[tail++] = tile;
+        return tail;
+    }
+}
@@ -0,0 +1,338 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.util.Arrays;
+
+/**
+ * Асинхронный поиск пути между комнатами по графу комнат (A*).
+ * Запросы копятся в течение шага мира, в конце шага пары комнат без готового
+ * пути передаются фоновому потоку, и к началу следующего шага ответы выдаются.
+ * Начало шага ждет фоновый поток, поэтому ответ всегда приходит ровно через
+ * один шаг и игра остается воспроизводимой; сам поиск идет параллельно отрисовке.
+ * Найденные пути кэшируются по паре комнат до конца уровня, и повторный запрос
+ * отвечается сразу. Все массивы выделяются при создании, поэтому запросы
+ * и выдача ответов не выделяют память в шаге мира.
+ * Фоновая задача одна на всю игру и ждет пакеты на мониторе, а не
+ * отправляется заново на каждый пакет. При смене уровня поиск переключается
+ * на новый граф (reset), и массивы пересоздаются, только если комнат стало больше.
+ */
+public class RoomPathfinder {
+    // Состояния пары комнат
+    private static final int PAIR_UNKNOWN = 0;
+    private static final int PAIR_QUEUED = 1;
+    private static final int PAIR_SOLVING = 2;
+    private static final int PAIR_KNOWN = 3;
+
+    /**
+     * Запрос пути. Создается один раз владельцем (например, врагом)
+     * и переиспользуется для всех его маршрутов.
+     */
+    public static class Request {
+        /** Запрос не отправлен или отменен. */
+        public static final int IDLE = 0;
+        /** Путь ищется, ответ придет в одном из следующих шагов. */
+        public static final int PENDING = 1;
+        /** Путь готов (или известно, что его нет). */
+        public static final int READY = 2;
+
+        private int status = IDLE;
+        private int from;
+        private int to;
+
+        public int getStatus() { return status; }
+        public int getFrom() { return from; }
+        public int getTo() { return to; }
+    }
+
+    private RoomGraph graph;
+    private int roomCount;
+    // Наибольшее количество комнат, под которое выделены массивы
+    private int capacity = 0;
+
+    // Кэш путей: пара (from, to) хранится по индексу from * roomCount + to
+    private int[] pairState;
+    private int[] routeLength;
+    private int[] routeRooms;
+
+    // Данные потока обновления
+    private final Array<Request> waiting = new Array<>(false, 32);
+    private int[] queuedPairs;
+    private int queuedCount = 0;
+
+    // Пакет фонового потока; передается под монитором lock
+    private final Object lock = new Object();
+    private int[] solvingPairs;
+    private int solvingCount = 0;
+    private boolean working = false;
+    private boolean stopped = false;
+
+    // Рабочие массивы A* (только фоновый поток)
+    private float[] cost;
+    private int[] cameFrom;
+    private int[] openIn;
+    private int[] closedIn;
+    private int search = 0;
+
+    /**
+     * Конструктор поиска пути.
+     * @param graph Граф комнат уровня
+     */
+    public RoomPathfinder(RoomGraph graph) {
+        reset(graph);
+    }
+
+    /**
+     * Переключение на граф нового уровня.
+     * Дожидается пакета фонового потока, забывает все пути и запросы.
+     * Владельцы запросов к этому моменту должны их отменить (см. Enemy.reset).
+     * @param graph Граф комнат уровня
+     */
+    public void reset(RoomGraph graph) {
+        synchronized (lock) {
+            while (working && !stopped) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        this.graph = graph;
+        this.roomCount = graph.getRoomCount();
+        if (roomCount > capacity) {
+            capacity = roomCount;
+            int pairs = capacity * capacity;
+            pairState = new int[pairs];
+            routeLength = new int[pairs];
+            routeRooms = new int[pairs * capacity];
+            queuedPairs = new int[pairs];
+            solvingPairs = new int[pairs];
+            cost = new float[capacity];
+            cameFrom = new int[capacity];
+            openIn = new int[capacity];
+            closedIn = new int[capacity];
+        } else {
+            Arrays.fill(pairState, 0, roomCount * roomCount, PAIR_UNKNOWN);
+        }
+        waiting.clear();
+        queuedCount = 0;
+        solvingCount = 0;
+    }
+
+    /**
+     * Запуск фоновой задачи поиска.
+     * @param executor Исполнитель, в потоке которого ищутся пути
+     */
+    public void start(AsyncExecutor executor) {
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() throws Exception {
+                runWorker();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Остановка фоновой задачи. Неотвеченные запросы больше не выдаются.
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Запрос пути между комнатами.
+     * Если путь уже в кэше, запрос сразу становится READY.
+     * Запрос в состоянии PENDING перенаправляется на новую пару комнат.
+     * @param request Запрос владельца
+     * @param from Индекс начальной комнаты
+     * @param to Индекс конечной комнаты
+     */
+    public void request(Request request, int from, int to) {
+        request.from = from;
+        request.to = to;
+        int pair = from * roomCount + to;
+        if (pairState[pair] == PAIR_KNOWN) {
+            cancel(request);
+            request.status = Request.READY;
+            return;
+        }
+
+        if (pairState[pair] == PAIR_UNKNOWN) {
+            pairState[pair] = PAIR_QUEUED;
+            queuedPairs[queuedCount++] = pair;
+        }
+        if (request.status != Request.PENDING) {
+            request.status = Request.PENDING;
+            waiting.add(request);
+        }
+    }
+
+    /**
+     * Отмена запроса: владелец больше не ждет ответа.
+     * @param request Запрос владельца
+     */
+    public void cancel(Request request) {
+        if (request.status == Request.PENDING) {
+            waiting.removeValue(request, true);
+        }
+        request.status = Request.IDLE;
+    }
+
+    /**
+     * Выдача ответов на пакет прошлого шага. Вызывается в начале шага мира.
+     * Если фоновый поток еще не закончил пакет, шаг его дожидается.
+     */
+    public void deliver() {
+        synchronized (lock) {
+            while (working && !stopped) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (working) return;
+        }
+
+        for (int i = 0; i < solvingCount; i++) {
+            pairState[solvingPairs[i]] = PAIR_KNOWN;
+        }
+        solvingCount = 0;
+
+        for (int i = waiting.size - 1; i >= 0; i--) {
+            Request request = waiting.get(i);
+            if (pairState[request.from * roomCount + request.to] == PAIR_KNOWN) {
+                request.status = Request.READY;
+                waiting.removeIndex(i);
+            }
+        }
+    }
+
+    /**
+     * Передача накопленных пар фоновому потоку. Вызывается в конце шага мира.
+     */
+    public void dispatch() {
+        if (queuedCount == 0) return;
+
+        synchronized (lock) {
+            if (working || stopped) return;
+            System.arraycopy(queuedPairs, 0, solvingPairs, 0, queuedCount);
+            solvingCount = queuedCount;
+            queuedCount = 0;
+            for (int i = 0; i < solvingCount; i++) {
+                pairState[solvingPairs[i]] = PAIR_SOLVING;
+            }
+            working = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Количество комнат в готовом пути, включая начальную и конечную.
+     * @param request Запрос в состоянии READY
+     * @return Количество комнат или 0, если пути нет
+     */
+    public int getRouteLength(Request request) {
+        return routeLength[request.from * roomCount + request.to];
+    }
+
+    /**
+     * Комната готового пути.
+     * @param request Запрос в состоянии READY
+     * @param index Номер комнаты в пути (0 - начальная)
+     * @return Индекс комнаты
+     */
+    public int getRouteRoom(Request request, int index) {
+        return routeRooms[(request.from * roomCount + request.to) * roomCount + index];
+    }
+
+    public RoomGraph getGraph() {
+        return graph;
+    }
+
+    // Цикл фоновой задачи: ждет пакет, решает все пары, сообщает о готовности
+    private void runWorker() throws InterruptedException {
+        while (true) {
+            synchronized (lock) {
+                while (!working && !stopped) {
+                    lock.wait();
+                }
+                if (stopped) return;
+            }
+
+            try {
+                for (int i = 0; i < solvingCount; i++) {
+                    solve(solvingPairs[i]);
+                }
+            } finally {
+                synchronized (lock) {
+                    working = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    // A* по графу комнат. Комнат не больше нескольких десятков,
+    // поэтому открытое множество - линейный поиск по меткам, без кучи
+    private void solve(int pair) {
+        int from = pair / roomCount;
+        int to = pair % roomCount;
+        search++;
+        cost[from] = 0;
+        cameFrom[from] = -1;
+        openIn[from] = search;
+
+        while (true) {
+            int current = -1;
+            float bestScore = Float.MAX_VALUE;
+            for (int room = 0; room < roomCount; room++) {
+                if (openIn[room] != search || closedIn[room] == search) continue;
+                float score = cost[room] + graph.estimate(room, to);
+                if (score < bestScore) {
+                    bestScore = score;
+                    current = room;
+                }
+            }
+            if (current == -1) {
+                routeLength[pair] = 0;
+                return;
+            }
+            if (current == to) break;
+            closedIn[current] = search;
+
+            for (int i = 0; i < graph.getNeighbors(current).size; i++) {
+                int next = graph.getNeighbors(current).get(i);
+                if (closedIn[next] == search) continue;
+                float nextCost = cost[current] + graph.getNeighborCost(current, i);
+                if (openIn[next] != search || nextCost < cost[next]) {
+                    openIn[next] = search;
+                    cost[next] = nextCost;
+                    cameFrom[next] = current;
+                }
+            }
+        }
+
+        // Путь восстанавливается от конца и записывается в прямом порядке
+        int length = 0;
+        for (int room = to; room != -1; room = cameFrom[room]) {
+            length++;
+        }
+        int offset = pair * roomCount;
+        int index = length - 1;
+        for (int room = to; room != -1; room = cameFrom[room]) {
+            routeRooms[offset + index--] = room;
+        }
+        routeLength[pair] = length;
+    }
+}
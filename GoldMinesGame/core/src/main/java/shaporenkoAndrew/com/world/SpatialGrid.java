@@ -0,0 +1,206 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import shaporenkoAndrew.com.gameObjects.GameObject;
+
+/**
+ * Равномерная пространственная сетка для слоя игровых объектов.
+ * Каждый объект хранится в одной ячейке - по центру своих границ.
+ * Запросы расширяются на половину размера самого крупного объекта,
+ * поэтому объект, выступающий за границу ячейки, не теряется.
+ * Поддерживает запросы:
+ * - По точке
+ * - По прямоугольнику
+ * - По радиусу
+ */
+public class SpatialGrid {
+    private static final int CELL_SIZE = 128;
+    // Запас емкости ячейки: враги сбегаются к игроку в одну ячейку,
+    // и рост массива посреди игры выделял бы память в шаге мира
+    private static final int CELL_CAPACITY = 32;
+
+    private final int columns;
+    private final int rows;
+    private final Array<GameObject>[] cells;
+    private final ObjectIntMap<GameObject> cellOf = new ObjectIntMap<>();
+    private float maxHalfExtent = 0;
+
+    /**
+     * Конструктор сетки.
+     * @param worldWidth Ширина мира в пикселях
+     * @param worldHeight Высота мира в пикселях
+     */
+    @SuppressWarnings("unchecked")
+    public SpatialGrid(float worldWidth, float worldHeight) {
+        this.columns = Math.max(1, MathUtils.ceil(worldWidth / CELL_SIZE));
+        this.rows = Math.max(1, MathUtils.ceil(worldHeight / CELL_SIZE));
+        this.cells = new Array[columns * rows];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Array<>(false, CELL_CAPACITY);
+        }
+    }
+
+    /**
+     * Добавление объекта в сетку.
+     * @param obj Игровой объект
+     */
+    public void insert(GameObject obj) {
+        Rectangle bounds = obj.getBounds();
+        maxHalfExtent = Math.max(maxHalfExtent, Math.max(bounds.width, bounds.height) / 2);
+
+        int cell = cellIndex(bounds);
+        cells[cell].add(obj);
+        cellOf.put(obj, cell);
+    }
+
+    /**
+     * Удаление объекта из сетки.
+     * Объекты, которых нет в сетке, игнорируются.
+     * @param obj Игровой объект
+     */
+    public void remove(GameObject obj) {
+        int cell = cellOf.remove(obj, -1);
+        if (cell >= 0) {
+            cells[cell].removeValue(obj, true);
+        }
+    }
+
+    /**
+     * Обновление положения объекта после перемещения.
+     * Переносит объект в другую ячейку только если центр её покинул.
+     * @param obj Игровой объект
+     */
+    public void update(GameObject obj) {
+        int oldCell = cellOf.get(obj, -1);
+        if (oldCell < 0) return;
+
+        int newCell = cellIndex(obj.getBounds());
+        if (newCell != oldCell) {
+            cells[oldCell].removeValue(obj, true);
+            cells[newCell].add(obj);
+            cellOf.put(obj, newCell);
+        }
+    }
+
+    /**
+     * Очистка сетки.
+     */
+    public void clear() {
+        for (Array<GameObject> cell : cells) {
+            cell.clear();
+        }
+        cellOf.clear();
+        maxHalfExtent = 0;
+    }
+
+    /**
+     * Поиск объектов, содержащих точку.
+     * @param x X-координата точки
+     * @param y Y-координата точки
+     * @param out Массив для результатов (не очищается)
+     * @return Массив out
+     */
+    public Array<GameObject> queryPoint(float x, float y, Array<GameObject> out) {
+        int minColumn = column(x - maxHalfExtent);
+        int maxColumn = column(x + maxHalfExtent);
+        int minRow = row(y - maxHalfExtent);
+        int maxRow = row(y + maxHalfExtent);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Array<GameObject> cell = cells[row * columns + column];
+                for (int i = 0; i < cell.size; i++) {
+                    GameObject obj = cell.get(i);
+                    if (obj.getBounds().contains(x, y)) {
+                        out.add(obj);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Поиск объектов, пересекающих прямоугольник.
+     * @param area Прямоугольник в мировых координатах
+     * @param out Массив для результатов (не очищается)
+     * @return Массив out
+     */
+    public Array<GameObject> queryRect(Rectangle area, Array<GameObject> out) {
+        int minColumn = column(area.x - maxHalfExtent);
+        int maxColumn = column(area.x + area.width + maxHalfExtent);
+        int minRow = row(area.y - maxHalfExtent);
+        int maxRow = row(area.y + area.height + maxHalfExtent);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Array<GameObject> cell = cells[row * columns + column];
+                for (int i = 0; i < cell.size; i++) {
+                    GameObject obj = cell.get(i);
+                    if (obj.getBounds().overlaps(area)) {
+                        out.add(obj);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Поиск объектов, границы которых попадают в круг.
+     * @param centerX X-координата центра
+     * @param centerY Y-координата центра
+     * @param radius Радиус поиска
+     * @param out Массив для результатов (не очищается)
+     * @return Массив out
+     */
+    public Array<GameObject> queryRadius(float centerX, float centerY, float radius, Array<GameObject> out) {
+        int minColumn = column(centerX - radius - maxHalfExtent);
+        int maxColumn = column(centerX + radius + maxHalfExtent);
+        int minRow = row(centerY - radius - maxHalfExtent);
+        int maxRow = row(centerY + radius + maxHalfExtent);
+        float radiusSquared = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Array<GameObject> cell = cells[row * columns + column];
+                for (int i = 0; i < cell.size; i++) {
+                    GameObject obj = cell.get(i);
+                    Rectangle bounds = obj.getBounds();
+                    // Ближайшая к центру круга точка прямоугольника
+                    float nearestX = MathUtils.clamp(centerX, bounds.x, bounds.x + bounds.width);
+                    float nearestY = MathUtils.clamp(centerY, bounds.y, bounds.y + bounds.height);
+                    float dx = centerX - nearestX;
+                    float dy = centerY - nearestY;
+                    if (dx * dx + dy * dy <= radiusSquared) {
+                        out.add(obj);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Получение количества объектов в сетке.
+     * @return Количество объектов
+     */
+    public int size() {
+        return cellOf.size;
+    }
+
+    private int cellIndex(Rectangle bounds) {
+        return row(bounds.y + bounds.height / 2) * columns + column(bounds.x + bounds.width / 2);
+    }
+
+    private int column(float x) {
+        return MathUtils.clamp(MathUtils.floor(x / CELL_SIZE), 0, columns - 1);
+    }
+
+    private int row(float y) {
+        return MathUtils.clamp(MathUtils.floor(y / CELL_SIZE), 0, rows - 1);
+    }
+}
@@ -0,0 +1,187 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Сервис столкновений со стенами на основе тайловой сетки.
+ * Все запросы проверяют только тайлы, которые покрывает прямоугольник
+ * (или отрезок его движения), поэтому стоимость не зависит от числа стен.
+ * Функционал:
+ * - Проверка пересечения прямоугольника со стенами
+ * - Движение по одной оси с упором в ближайшую стену
+ * - Расчет силы отталкивания от соседних стен
+ */
+public class TileCollider {
+    private static final int TILE_SIZE = TileGrid.TILE_SIZE;
+
+    private final TileGrid grid;
+
+    /**
+     * Конструктор сервиса столкновений.
+     * @param grid Тайловая сетка уровня
+     */
+    public TileCollider(TileGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Проверка пересечения прямоугольника со стенами.
+     * @param rect Прямоугольник в мировых координатах
+     * @return true если прямоугольник пересекает хотя бы одну стену
+     */
+    public boolean overlapsSolid(Rectangle rect) {
+        return overlapsSolid(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    /**
+     * Проверка пересечения прямоугольника со стенами.
+     * Касание границы тайла не считается пересечением, как в Rectangle.overlaps.
+     * @param x Левая граница
+     * @param y Нижняя граница
+     * @param width Ширина
+     * @param height Высота
+     * @return true если прямоугольник пересекает хотя бы одну стену
+     */
+    public boolean overlapsSolid(float x, float y, float width, float height) {
+        int minX = TileGrid.toTile(x);
+        int minY = TileGrid.toTile(y);
+        int maxX = lastTile(x + width);
+        int maxY = lastTile(y + height);
+
+        for (int tileX = minX; tileX <= maxX; tileX++) {
+            for (int tileY = minY; tileY <= maxY; tileY++) {
+                if (grid.isSolid(tileX, tileY)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Движение прямоугольника по оси X до новой позиции или до первой стены.
+     * Проверяются только столбцы тайлов, которые прямоугольник пересекает
+     * по пути, поэтому быстрое движение не проскакивает сквозь стены.
+     * @param bounds Текущие границы (не изменяются)
+     * @param targetX Желаемая X-координата
+     * @return Итоговая X-координата: желаемая или вплотную к стене
+     */
+    public float sweepX(Rectangle bounds, float targetX) {
+        int minRow = TileGrid.toTile(bounds.y);
+        int maxRow = lastTile(bounds.y + bounds.height);
+
+        if (targetX > bounds.x) {
+            int fromColumn = lastTile(bounds.x + bounds.width) + 1;
+            int toColumn = lastTile(targetX + bounds.width);
+            for (int column = fromColumn; column <= toColumn; column++) {
+                if (isColumnSolid(column, minRow, maxRow)) {
+                    return column * TILE_SIZE - bounds.width;
+                }
+            }
+        } else if (targetX < bounds.x) {
+            int fromColumn = TileGrid.toTile(bounds.x) - 1;
+            int toColumn = TileGrid.toTile(targetX);
+            for (int column = fromColumn; column >= toColumn; column--) {
+                if (isColumnSolid(column, minRow, maxRow)) {
+                    return (column + 1) * TILE_SIZE;
+                }
+            }
+        }
+        return targetX;
+    }
+
+    /**
+     * Движение прямоугольника по оси Y до новой позиции или до первой стены.
+     * @param bounds Текущие границы (не изменяются)
+     * @param targetY Желаемая Y-координата
+     * @return Итоговая Y-координата: желаемая или вплотную к стене
+     */
+    public float sweepY(Rectangle bounds, float targetY) {
+        int minColumn = TileGrid.toTile(bounds.x);
+        int maxColumn = lastTile(bounds.x + bounds.width);
+
+        if (targetY > bounds.y) {
+            int fromRow = lastTile(bounds.y + bounds.height) + 1;
+            int toRow = lastTile(targetY + bounds.height);
+            for (int row = fromRow; row <= toRow; row++) {
+                if (isRowSolid(row, minColumn, maxColumn)) {
+                    return row * TILE_SIZE - bounds.height;
+                }
+            }
+        } else if (targetY < bounds.y) {
+            int fromRow = TileGrid.toTile(bounds.y) - 1;
+            int toRow = TileGrid.toTile(targetY);
+            for (int row = fromRow; row >= toRow; row--) {
+                if (isRowSolid(row, minColumn, maxColumn)) {
+                    return (row + 1) * TILE_SIZE;
+                }
+            }
+        }
+        return targetY;
+    }
+
+    /**
+     * Добавление силы отталкивания от стен вокруг точки.
+     * Каждая стена, центр которой ближе радиуса, отталкивает точку
+     * тем сильнее, чем она ближе.
+     * @param x X-координата точки
+     * @param y Y-координата точки
+     * @param radius Радиус, в котором учитываются стены
+     * @param out Вектор, к которому прибавляется сила
+     * @return Вектор out
+     */
+    public Vector2 addWallRepulsion(float x, float y, float radius, Vector2 out) {
+        int minX = TileGrid.toTile(x - radius);
+        int maxX = TileGrid.toTile(x + radius);
+        int minY = TileGrid.toTile(y - radius);
+        int maxY = TileGrid.toTile(y + radius);
+
+        for (int tileX = minX; tileX <= maxX; tileX++) {
+            for (int tileY = minY; tileY <= maxY; tileY++) {
+                if (!grid.isSolid(tileX, tileY)) continue;
+
+                float awayX = x - (tileX * TILE_SIZE + TILE_SIZE / 2f);
+                float awayY = y - (tileY * TILE_SIZE + TILE_SIZE / 2f);
+                float distToWall = (float)Math.sqrt(awayX * awayX + awayY * awayY);
+                if (distToWall < radius && distToWall > 0) {
+                    float strength = (1.0f - distToWall / radius) / distToWall;
+                    out.add(awayX * strength, awayY * strength);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Получение тайловой сетки, над которой работает сервис.
+     * @return Тайловая сетка
+     */
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    private boolean isColumnSolid(int column, int minRow, int maxRow) {
+        for (int row = minRow; row <= maxRow; row++) {
+            if (grid.isSolid(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRowSolid(int row, int minColumn, int maxColumn) {
+        for (int column = minColumn; column <= maxColumn; column++) {
+            if (grid.isSolid(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Последний тайл, который покрывает отрезок, заканчивающийся в end (не включительно)
+    private static int lastTile(float end) {
+        return MathUtils.ceil(end / TILE_SIZE) - 1;
+    }
+}
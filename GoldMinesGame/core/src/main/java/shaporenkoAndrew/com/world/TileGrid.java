@@ -0,0 +1,113 @@
+package shaporenkoAndrew.com.world;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Компактная тайловая сетка уровня.
+ * Хранит статический слой (пол и стены) в одном примитивном массиве
+ * вместо отдельного GameObject с Rectangle на каждый тайл.
+ * Используется:
+ * - При отрисовке пола и стен
+ * - При проверке столкновений со стенами (через TileCollider)
+ */
+public class TileGrid {
+    public static final int TILE_SIZE = 32;
+
+    // Типы тайлов
+    public static final byte FLOOR = 0;
+    public static final byte WALL = 1;
+
+    private final int width;
+    private final int height;
+    private final byte[] tiles; // тайл (x, y) хранится по индексу y * width + x
+
+    /**
+     * Создание сетки на основе сгенерированных данных уровня.
+     * Стены (1) становятся тайлами WALL, всё остальное - полом,
+     * так как руда, сундуки, монеты и двери стоят на полу.
+     * @param levelData Данные уровня из LevelGenerator
+     */
+    public TileGrid(int[][] levelData) {
+        this.width = levelData.length;
+        this.height = width > 0 ? levelData[0].length : 0;
+        this.tiles = new byte[width * height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                tiles[y * width + x] = levelData[x][y] == 1 ? WALL : FLOOR;
+            }
+        }
+    }
+
+    /**
+     * Получение типа тайла.
+     * Всё, что лежит за пределами уровня, считается стеной.
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     * @return Тип тайла
+     */
+    public byte getTile(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
+            return WALL;
+        }
+        return tiles[tileY * width + tileX];
+    }
+
+    /**
+     * Изменение типа тайла.
+     * Отрисовщик карты нужно уведомить отдельно (TileMapRenderer.updateTile).
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     * @param tile Новый тип тайла
+     */
+    public void setTile(int tileX, int tileY, byte tile) {
+        if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
+            return;
+        }
+        tiles[tileY * width + tileX] = tile;
+    }
+
+    /**
+     * Проверка, является ли тайл непроходимым.
+     * @param tileX X-координата тайла
+     * @param tileY Y-координата тайла
+     * @return true если тайл - стена
+     */
+    public boolean isSolid(int tileX, int tileY) {
+        return getTile(tileX, tileY) == WALL;
+    }
+
+    /**
+     * Проверка, находится ли точка мира внутри стены.
+     * @param worldX X-координата в пикселях
+     * @param worldY Y-координата в пикселях
+     * @return true если точка попадает в тайл стены
+     */
+    public boolean isSolidAt(float worldX, float worldY) {
+        return isSolid(toTile(worldX), toTile(worldY));
+    }
+
+    /**
+     * Перевод мировой координаты в номер тайла.
+     * @param world Координата в пикселях
+     * @return Номер тайла
+     */
+    public static int toTile(float world) {
+        return MathUtils.floor(world / TILE_SIZE);
+    }
+
+    /**
+     * Получение ширины сетки.
+     * @return Ширина в тайлах
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Получение высоты сетки.
+     * @return Высота в тайлах
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,131 @@
+package shaporenkoAndrew.com.world;
+
+import shaporenkoAndrew.com.gameObjects.GameObject;
+
+/**
+ * Буфер структурных изменений мира: появление и удаление объектов
+ * и переход на следующий уровень.
+ * Во время шага системы и объекты не меняют хранилище, индекс и движок,
+ * а только записывают команды; мир применяет их одним пакетом в точке
+ * синхронизации в конце шага (GameWorld.update), в порядке записи.
+ * Поэтому обход живых данных во время шага не требует защитных копий.
+ * Записывать команды можно из любого потока: запись идет под монитором,
+ * а применение меняет буферы местами, так что команды, записанные
+ * во время применения, попадают в следующий пакет.
+ * Применяет команды только поток обновления мира.
+ */
+class WorldCommands {
+    // Виды команд
+    private static final int SPAWN = 0;
+    private static final int DESPAWN = 1;
+    private static final int NEXT_LEVEL = 2;
+
+    /**
+     * Пакет команд в параллельных массивах.
+     */
+    private static final class Batch {
+        int[] kinds = new int[32];
+        GameObject[] targets = new GameObject[32];
+        int size = 0;
+
+        void add(int kind, GameObject target) {
+            if (size == kinds.length) {
+                int[] grownKinds = new int[size * 2];
+                GameObject[] grownTargets = new GameObject[size * 2];
+                System.arraycopy(kinds, 0, grownKinds, 0, size);
+                System.arraycopy(targets, 0, grownTargets, 0, size);
+                kinds = grownKinds;
+                targets = grownTargets;
+            }
+            kinds[size] = kind;
+            targets[size] = target;
+            size++;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                targets[i] = null;
+            }
+            size = 0;
+        }
+    }
+
+    private final Object lock = new Object();
+    // Пакет, в который пишут команды; второй пакет применяется
+    private Batch recording = new Batch();
+    private Batch applying = new Batch();
+
+    /**
+     * Запись появления объекта на уровне.
+     * @param object Объект, еще не добавленный на уровень
+     */
+    void spawn(GameObject object) {
+        record(SPAWN, object);
+    }
+
+    /**
+     * Запись удаления объекта с уровня.
+     * @param object Объект уровня
+     */
+    void despawn(GameObject object) {
+        record(DESPAWN, object);
+    }
+
+    /**
+     * Запись перехода на следующий уровень.
+     */
+    void nextLevel() {
+        record(NEXT_LEVEL, null);
+    }
+
+    private void record(int kind, GameObject target) {
+        synchronized (lock) {
+            recording.add(kind, target);
+        }
+    }
+
+    /**
+     * Применение записанных команд в порядке записи.
+     * @param world Мир, к которому применяются команды
+     */
+    void apply(GameWorld world) {
+        Batch batch;
+        synchronized (lock) {
+            if (recording.size == 0) return;
+            batch = recording;
+            recording = applying;
+            applying = batch;
+        }
+
+        for (int i = 0; i < batch.size; i++) {
+            switch (batch.kinds[i]) {
+                case SPAWN:
+                    world.applySpawn(batch.targets[i]);
+                    break;
+                case DESPAWN:
+                    world.applyDespawn(batch.targets[i]);
+                    break;
+                case NEXT_LEVEL:
+                    world.applyNextLevel();
+                    break;
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Отбрасывание записанных команд при смене уровня или освобождении мира.
+     * Объекты, которые так и не появились на уровне, возвращаются в пулы.
+     * @param pools Пулы объектов уровня
+     */
+    void discard(GameObjectPools pools) {
+        synchronized (lock) {
+            for (int i = 0; i < recording.size; i++) {
+                if (recording.kinds[i] == SPAWN) {
+                    pools.free(recording.targets[i]);
+                }
+            }
+            recording.clear();
+        }
+    }
+}
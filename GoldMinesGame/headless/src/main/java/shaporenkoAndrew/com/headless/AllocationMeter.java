@@ -0,0 +1,56 @@
+package shaporenkoAndrew.com.headless;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Счетчик памяти, выделенной текущим потоком.
+ * Использует com.sun.management.ThreadMXBean (HotSpot и совместимые JVM).
+ * Собственная стоимость замера вычитается, поэтому участок кода
+ * без выделений дает ровно 0 байт.
+ */
+class AllocationMeter {
+    private final com.sun.management.ThreadMXBean threads;
+    private final long threadId;
+    private final long overhead;
+    private long start;
+
+    /**
+     * Создание счетчика для вызывающего потока.
+     * @throws UnsupportedOperationException если JVM не считает выделения по потокам
+     */
+    AllocationMeter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new UnsupportedOperationException("Thread allocation counters are not available on this JVM");
+        }
+        threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Thread allocation counters are not available on this JVM");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        threadId = Thread.currentThread().getId();
+
+        // Минимум из нескольких пустых замеров - стоимость самого замера
+        long minOverhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            minOverhead = Math.min(minOverhead, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        overhead = minOverhead;
+    }
+
+    /**
+     * Начало замера.
+     */
+    void start() {
+        start = threads.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Конец замера.
+     * @return Байты, выделенные потоком с вызова start()
+     */
+    long stop() {
+        return Math.max(0, threads.getThreadAllocatedBytes(threadId) - start - overhead);
+    }
+}
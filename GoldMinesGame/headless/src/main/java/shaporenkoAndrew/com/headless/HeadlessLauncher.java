@@ -0,0 +1,75 @@
+package shaporenkoAndrew.com.headless;
+
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/** Launches the game simulation without a window (headless backend). */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        long ticks = 36000;
+        long seed = System.nanoTime();
+        boolean checkAllocations = false;
+        int hordeSize = 0;
+        int hordeThreads = 0;
+        for (int i = 0; i < args.length; i++) {
+            if ("--check-allocations".equals(args[i])) {
+                checkAllocations = true;
+            } else if ("--ticks".equals(args[i]) && i + 1 < args.length) {
+                ticks = Long.parseLong(args[++i]);
+            } else if ("--seed".equals(args[i]) && i + 1 < args.length) {
+                seed = Long.parseLong(args[++i]);
+            } else if ("--horde".equals(args[i]) && i + 1 < args.length) {
+                hordeSize = Integer.parseInt(args[++i]);
+            } else if ("--horde-threads".equals(args[i]) && i + 1 < args.length) {
+                hordeThreads = Integer.parseInt(args[++i]);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        createApplication(ticks, seed, checkAllocations, hordeSize, hordeThreads);
+    }
+
+    private static HeadlessApplication createApplication(long ticks, long seed, boolean checkAllocations,
+                                                         int hordeSize, int hordeThreads) {
+        final SimulationRunner runner = new SimulationRunner(ticks, seed, checkAllocations, hordeSize,
+                                                             hordeThreads);
+        // main() returns right after the loop thread starts, so an exception in create() or render()
+        // would only kill that thread and leave exit code 0. Any uncaught throwable fails the run instead.
+        Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+            @Override
+            public void uncaughtException(Thread thread, Throwable throwable) {
+                System.err.println("Simulation failed on thread " + thread.getName() + " at tick "
+                    + runner.getTicks() + ". Reproduce with: " + runner.getReproduceArgs());
+                throwable.printStackTrace();
+                System.exit(2);
+            }
+        });
+        HeadlessApplication application = new HeadlessApplication(runner, getDefaultConfiguration());
+        // The headless loop runs on its own thread; turn a failed allocation check into a non-zero exit code.
+        application.addLifecycleListener(new LifecycleListener() {
+            @Override
+            public void pause() {
+            }
+
+            @Override
+            public void resume() {
+            }
+
+            @Override
+            public void dispose() {
+                if (runner.hasAllocationFailures() || runner.isParallelStepUnchecked()) {
+                    System.exit(1);
+                }
+            }
+        });
+        return application;
+    }
+
+    private static HeadlessApplicationConfiguration getDefaultConfiguration() {
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        //// 0 means render() is called back to back without sleeping, so ticks run as fast as possible.
+        configuration.updatesPerSecond = 0;
+        return configuration;
+    }
+}
@@ -0,0 +1,61 @@
+package shaporenkoAndrew.com.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntSet;
+import shaporenkoAndrew.com.input.InputSource;
+
+/**
+ * Скриптовый ввод для прогона без окна.
+ * Имитирует игрока: удерживает клавиши движения и спринта случайное время
+ * и иногда нажимает клавишу взаимодействия. Последовательность нажатий
+ * определяется зерном, поэтому прогон воспроизводим.
+ */
+public class ScriptedInputSource implements InputSource {
+    private static final int[] HELD_KEYS = {
+        Input.Keys.W, Input.Keys.A, Input.Keys.S, Input.Keys.D, Input.Keys.SHIFT_LEFT
+    };
+    private static final float TOGGLE_CHANCE = 0.05f;   // смена удержания клавиши за шаг
+    private static final float INTERACT_CHANCE = 0.02f; // нажатие E за шаг
+
+    private final RandomXS128 random;
+    private final IntSet pressed = new IntSet();
+    private final IntSet justPressed = new IntSet();
+
+    /**
+     * Конструктор скриптового ввода.
+     * @param seed Зерно последовательности нажатий
+     */
+    public ScriptedInputSource(long seed) {
+        this.random = new RandomXS128(seed);
+    }
+
+    /**
+     * Переход к следующему шагу: обновление удерживаемых и нажатых клавиш.
+     * Вызывается один раз перед каждым шагом мира.
+     */
+    public void advance() {
+        justPressed.clear();
+        for (int keycode : HELD_KEYS) {
+            if (random.nextFloat() < TOGGLE_CHANCE) {
+                if (!pressed.remove(keycode)) {
+                    pressed.add(keycode);
+                    justPressed.add(keycode);
+                }
+            }
+        }
+        if (random.nextFloat() < INTERACT_CHANCE) {
+            justPressed.add(Input.Keys.E);
+        }
+    }
+
+    @Override
+    public boolean isKeyPressed(int keycode) {
+        return pressed.contains(keycode) || justPressed.contains(keycode);
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int keycode) {
+        return justPressed.contains(keycode);
+    }
+}
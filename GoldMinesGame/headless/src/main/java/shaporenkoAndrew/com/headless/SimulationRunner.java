@@ -0,0 +1,231 @@
+package shaporenkoAndrew.com.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.RandomXS128;
+import shaporenkoAndrew.com.assets.AssetRegistry;
+import shaporenkoAndrew.com.gameObjects.Player;
+import shaporenkoAndrew.com.world.EnemyHorde;
+import shaporenkoAndrew.com.world.GameWorld;
+
+/**
+ * Прогон игровой симуляции без окна и видеокарты.
+ * Каждый вызов render() - один шаг мира фиксированной длины.
+ * Когда игра заканчивается победой или поражением, начинается новая
+ * со следующим зерном, пока не будет выполнено заданное число шагов.
+ * В конце выводится отчет о скорости и исходах игр.
+ * В режиме проверки выделений каждый шаг уровня после прогрева измеряется
+ * счетчиком памяти потока; шаги со сменой уровня или игры не учитываются.
+ * Если орда не меньше EnemyHorde.PARALLEL_THRESHOLD, среди измеренных шагов
+ * должен быть и параллельный шаг орды.
+ * Если хотя бы один измеренный шаг выделил память или параллельный шаг
+ * ни разу не измерен, прогон завершается с кодом 1,
+ * а при любом исключении в create() или render() - с кодом 2 (см. HeadlessLauncher).
+ */
+public class SimulationRunner extends ApplicationAdapter implements GameWorld.Listener {
+    private static final float STEP = 1f / GameWorld.TICK_RATE;
+    // Размер уровня как у окна 640x480, увеличенного вдвое (см. GameScreen)
+    private static final int LEVEL_WIDTH = 640 * 2;
+    private static final int LEVEL_HEIGHT = 480 * 2;
+    // Шаги, которые не измеряются: загрузка классов и ленивая инициализация
+    private static final long ALLOCATION_WARMUP_TICKS = 600;
+
+    private final long totalTicks;
+    private final long seed;
+    private final RandomXS128 gameSeeds;
+    private final boolean checkAllocations;
+    private final int hordeSize;
+    private final int hordeThreads;
+
+    private AssetRegistry assets;
+    private ScriptedInputSource input;
+    private GameWorld world;
+
+    // Статистика прогона
+    private long ticks = 0;
+    private int games = 0;
+    private int victories = 0;
+    private int deaths = 0;
+    private int levelsStarted = 0;
+    private long startTime;
+
+    // Статистика проверки выделений
+    private AllocationMeter allocationMeter;
+    private long measuredTicks = 0;
+    private long allocatingTicks = 0;
+    private long allocatedBytes = 0;
+    private long maxTickBytes = 0;
+    private long parallelTicks = 0;
+
+    /**
+     * Конструктор прогона.
+     * @param totalTicks Количество шагов симуляции
+     * @param seed Зерно прогона: из него выводятся зерна игр и ввода
+     * @param checkAllocations Проверять, что шаги мира не выделяют память
+     * @param hordeSize Количество врагов орды на уровне (0 - обычная игра)
+     * @param hordeThreads Количество потоков пула орды (0 - по числу процессоров)
+     */
+    public SimulationRunner(long totalTicks, long seed, boolean checkAllocations, int hordeSize,
+                            int hordeThreads) {
+        this.totalTicks = totalTicks;
+        this.seed = seed;
+        this.gameSeeds = new RandomXS128(seed);
+        this.checkAllocations = checkAllocations;
+        this.hordeSize = hordeSize;
+        this.hordeThreads = hordeThreads;
+    }
+
+    @Override
+    public void create() {
+        Gdx.app.log("SimulationRunner", "Seed: " + seed + ", ticks: " + totalTicks
+            + (hordeSize > 0 ? ", horde: " + hordeSize : ""));
+        assets = new AssetRegistry();
+        input = new ScriptedInputSource(gameSeeds.nextLong());
+        if (checkAllocations) {
+            allocationMeter = new AllocationMeter();
+        }
+        startGame();
+        startTime = System.nanoTime();
+    }
+
+    private void startGame() {
+        world = new GameWorld(assets, input, LEVEL_WIDTH, LEVEL_HEIGHT, gameSeeds.nextLong(), this);
+        world.setHordeSize(hordeSize);
+        world.setHordeThreads(hordeThreads);
+        world.finishLoading();
+        games++;
+    }
+
+    @Override
+    public void render() {
+        // После выхода цикл приложения может вызвать render() еще раз
+        if (ticks >= totalTicks) return;
+
+        boolean measure = allocationMeter != null && ticks >= ALLOCATION_WARMUP_TICKS;
+        int levelsBefore = levelsStarted;
+        if (measure) allocationMeter.start();
+
+        // Ждем уровень, а не пропускаем шаги: прогон должен быть воспроизводимым
+        if (!world.pollLevel()) {
+            world.finishLoading();
+        }
+
+        // Прицеливание на руду рядом с игроком вместо указателя мыши
+        Player player = world.getPlayer();
+        world.updateTarget(player.getX() + player.getBounds().width / 2, player.getY() + player.getBounds().height / 2);
+
+        input.advance();
+        EnemyHorde horde = world.getHorde();
+        boolean parallel = horde != null && horde.isParallel();
+        world.update(STEP);
+        ticks++;
+
+        if (measure) {
+            long bytes = allocationMeter.stop();
+            // Смена уровня и конец игры выделяют память по определению
+            if (levelsStarted == levelsBefore && !world.isFinished()) {
+                recordAllocation(bytes);
+                if (parallel) parallelTicks++;
+            }
+        }
+
+        if (world.isFinished()) {
+            world.dispose();
+            startGame();
+        }
+
+        if (ticks >= totalTicks) {
+            report();
+            Gdx.app.exit();
+        }
+    }
+
+    private void recordAllocation(long bytes) {
+        measuredTicks++;
+        if (bytes > 0) {
+            allocatingTicks++;
+            allocatedBytes += bytes;
+            maxTickBytes = Math.max(maxTickBytes, bytes);
+        }
+    }
+
+    /**
+     * Результат проверки выделений.
+     * @return true если проверка включена и хотя бы один измеренный шаг выделил память
+     */
+    public boolean hasAllocationFailures() {
+        return allocatingTicks > 0;
+    }
+
+    /**
+     * Проверка, что орда из проверки выделений ни разу не считалась параллельно,
+     * например на одноядерной машине без --horde-threads.
+     * @return true если параллельный шаг орды должен был измеряться, но не измерялся
+     */
+    public boolean isParallelStepUnchecked() {
+        return allocationMeter != null && hordeSize >= EnemyHorde.PARALLEL_THRESHOLD && parallelTicks == 0;
+    }
+
+    /**
+     * Количество выполненных шагов.
+     * @return Шаги с начала прогона
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Параметры запуска, повторяющие этот прогон (например, после падения).
+     * @return Аргументы командной строки HeadlessLauncher
+     */
+    public String getReproduceArgs() {
+        return "--seed " + seed + " --ticks " + totalTicks
+            + (hordeSize > 0 ? " --horde " + hordeSize : "")
+            + (hordeThreads > 0 ? " --horde-threads " + hordeThreads : "")
+            + (checkAllocations ? " --check-allocations" : "");
+    }
+
+    private void report() {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        Gdx.app.log("SimulationRunner", String.format(
+            "Ticks: %d in %.2f s (%.0f ticks/s, %.1fx real time)",
+            ticks, seconds, ticks / seconds, ticks * STEP / seconds));
+        Gdx.app.log("SimulationRunner", "Games: " + games + ", victories: " + victories
+            + ", deaths: " + deaths + ", levels started: " + levelsStarted);
+        if (allocationMeter != null) {
+            String allocations = "Measured ticks: " + measuredTicks + ", allocating ticks: " + allocatingTicks
+                + ", allocated bytes: " + allocatedBytes + ", max per tick: " + maxTickBytes
+                + ", parallel horde ticks: " + parallelTicks;
+            if (hasAllocationFailures()) {
+                Gdx.app.error("SimulationRunner", "Steady-state ticks allocate memory. " + allocations);
+            } else {
+                Gdx.app.log("SimulationRunner", "Zero allocations per tick. " + allocations);
+            }
+            if (isParallelStepUnchecked()) {
+                Gdx.app.error("SimulationRunner", "The horde never stepped in parallel, so the parallel step"
+                    + " was not checked. Pass --horde-threads 2 on a single-CPU machine.");
+            }
+        }
+    }
+
+    @Override
+    public void levelStarted(GameWorld world) {
+        levelsStarted++;
+    }
+
+    @Override
+    public void gameOver(GameWorld world) {
+        deaths++;
+    }
+
+    @Override
+    public void victory(GameWorld world) {
+        victories++;
+    }
+
+    @Override
+    public void dispose() {
+        if (world != null) world.dispose();
+        if (assets != null) assets.dispose();
+    }
+}
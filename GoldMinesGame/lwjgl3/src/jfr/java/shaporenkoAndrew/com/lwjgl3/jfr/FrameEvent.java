@@ -0,0 +1,43 @@
+package shaporenkoAndrew.com.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Кадр игрового экрана с временем каждой фазы (см. FrameProfiler).
+ */
+@Name("goldmines.Frame")
+@Label("Frame")
+@Description("One game screen frame with per-phase durations")
+@Category({"GoldMines", "Frames"})
+class FrameEvent extends jdk.jfr.Event {
+    @Label("Simulation Steps")
+    int steps;
+
+    @Label("Input")
+    @Timespan(Timespan.NANOSECONDS)
+    long input;
+
+    @Label("Player Update")
+    @Timespan(Timespan.NANOSECONDS)
+    long playerUpdate;
+
+    @Label("Objects Update")
+    @Timespan(Timespan.NANOSECONDS)
+    long objectsUpdate;
+
+    @Label("Collision")
+    @Timespan(Timespan.NANOSECONDS)
+    long collision;
+
+    @Label("World Render")
+    @Timespan(Timespan.NANOSECONDS)
+    long worldRender;
+
+    @Label("UI Render")
+    @Timespan(Timespan.NANOSECONDS)
+    long uiRender;
+}
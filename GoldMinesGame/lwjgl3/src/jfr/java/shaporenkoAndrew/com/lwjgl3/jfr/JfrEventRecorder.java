@@ -0,0 +1,112 @@
+package shaporenkoAndrew.com.lwjgl3.jfr;
+
+import jdk.jfr.EventType;
+import shaporenkoAndrew.com.profiling.EventRecorder;
+import shaporenkoAndrew.com.profiling.FrameProfiler;
+
+/**
+ * Запись событий игры в Java Flight Recorder.
+ * События появляются в записи .jfr рядом со сборкой мусора и JIT,
+ * например при запуске с -XX:StartFlightRecording. Пока запись не идет,
+ * объекты событий не создаются.
+ * Класс собирается под JDK 11+ и подключается из Lwjgl3Launcher через рефлексию.
+ */
+public class JfrEventRecorder implements EventRecorder {
+    private static final EventType LEVEL_PHASE = EventType.getEventType(LevelPhaseEvent.class);
+    private static final EventType LEVEL_TRANSITION = EventType.getEventType(LevelTransitionEvent.class);
+    private static final EventType SCREEN_TRANSITION = EventType.getEventType(ScreenTransitionEvent.class);
+    private static final EventType FRAME = EventType.getEventType(FrameEvent.class);
+
+    @Override
+    public Object beginLevelPhase() {
+        if (!LEVEL_PHASE.isEnabled()) return null;
+        LevelPhaseEvent event = new LevelPhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endLevelPhase(Object marker, String phase, int width, int height, long seed, int count) {
+        if (marker == null) return;
+        LevelPhaseEvent event = (LevelPhaseEvent) marker;
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.width = width;
+            event.height = height;
+            event.seed = seed;
+            event.count = count;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginLevelTransition() {
+        if (!LEVEL_TRANSITION.isEnabled()) return null;
+        LevelTransitionEvent event = new LevelTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endLevelTransition(Object marker, int fromLevel, int toLevel) {
+        if (marker == null) return;
+        LevelTransitionEvent event = (LevelTransitionEvent) marker;
+        event.end();
+        if (event.shouldCommit()) {
+            event.fromLevel = fromLevel;
+            event.toLevel = toLevel;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginScreenTransition() {
+        if (!SCREEN_TRANSITION.isEnabled()) return null;
+        ScreenTransitionEvent event = new ScreenTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endScreenTransition(Object marker, String fromScreen, String toScreen) {
+        if (marker == null) return;
+        ScreenTransitionEvent event = (ScreenTransitionEvent) marker;
+        event.end();
+        if (event.shouldCommit()) {
+            event.fromScreen = fromScreen;
+            event.toScreen = toScreen;
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean isRecordingFrames() {
+        return FRAME.isEnabled();
+    }
+
+    @Override
+    public Object beginFrame() {
+        if (!FRAME.isEnabled()) return null;
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endFrame(Object marker, FrameProfiler profiler, int steps) {
+        if (marker == null) return;
+        FrameEvent event = (FrameEvent) marker;
+        event.end();
+        if (event.shouldCommit()) {
+            event.steps = steps;
+            event.input = profiler.getFrameNanos(FrameProfiler.INPUT);
+            event.playerUpdate = profiler.getFrameNanos(FrameProfiler.PLAYER_UPDATE);
+            event.objectsUpdate = profiler.getFrameNanos(FrameProfiler.OBJECTS_UPDATE);
+            event.collision = profiler.getFrameNanos(FrameProfiler.COLLISION);
+            event.worldRender = profiler.getFrameNanos(FrameProfiler.WORLD_RENDER);
+            event.uiRender = profiler.getFrameNanos(FrameProfiler.UI_RENDER);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package shaporenkoAndrew.com.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Этап генерации уровня (в фоновом потоке) или создания его объектов (в потоке игры).
+ */
+@Name("goldmines.LevelPhase")
+@Label("Level Phase")
+@Description("One phase of level generation or level object creation")
+@Category({"GoldMines", "World"})
+class LevelPhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Width")
+    @Description("Level width in tiles")
+    int width;
+
+    @Label("Height")
+    @Description("Level height in tiles")
+    int height;
+
+    @Label("Seed")
+    long seed;
+
+    @Label("Count")
+    @Description("Rooms, corridors, planned spawns or created objects, depending on the phase")
+    int count;
+}
@@ -0,0 +1,23 @@
+package shaporenkoAndrew.com.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Переход на уровень: от запроса (дверь или запуск игры) до привязки готового уровня.
+ * Длительность включает ожидание фоновой генерации.
+ */
+@Name("goldmines.LevelTransition")
+@Label("Level Transition")
+@Description("From the level change request until the generated level is bound")
+@Category({"GoldMines", "World"})
+class LevelTransitionEvent extends jdk.jfr.Event {
+    @Label("From Level")
+    @Description("0 when the game starts")
+    int fromLevel;
+
+    @Label("To Level")
+    int toLevel;
+}
@@ -0,0 +1,19 @@
+package shaporenkoAndrew.com.lwjgl3.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Смена экрана игры (hide прошлого и show нового).
+ */
+@Name("goldmines.ScreenTransition")
+@Label("Screen Transition")
+@Category({"GoldMines", "Screens"})
+class ScreenTransitionEvent extends jdk.jfr.Event {
+    @Label("From Screen")
+    String fromScreen;
+
+    @Label("To Screen")
+    String toScreen;
+}
@@ -3,16 +3,46 @@ package shaporenkoAndrew.com.lwjgl3;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import shaporenkoAndrew.com.Main;
+import shaporenkoAndrew.com.profiling.EventRecorder;
+import shaporenkoAndrew.com.profiling.GameEvents;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        installFlightRecorderEvents();
+        createApplication(parseHordeSize(args));
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+    /**
+     * Reads the optional "--horde N" argument: every level then also spawns a horde of N enemies.
+     * Without it the game runs as usual.
+     */
+    private static int parseHordeSize(String[] args) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if ("--horde".equals(args[i])) {
+                return Integer.parseInt(args[i + 1]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sends game events (level generation phases, level and screen transitions, frames) to Java Flight Recorder.
+     * The recorder is compiled for Java 11+, so it is loaded reflectively; on Java 8 the game runs without it.
+     * Record with: java -XX:StartFlightRecording=filename=goldmines.jfr ...
+     */
+    private static void installFlightRecorderEvents() {
+        try {
+            Class<?> recorderClass = Class.forName("shaporenkoAndrew.com.lwjgl3.jfr.JfrEventRecorder");
+            GameEvents.setRecorder((EventRecorder) recorderClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // No JFR on this JVM (or the recorder was not built); events are simply not recorded.
+        }
+    }
+
+    private static Lwjgl3Application createApplication(int hordeSize) {
+        return new Lwjgl3Application(new Main(hordeSize), getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {